@@ -1,153 +1,399 @@
 package main;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import model.user.User;
-import pattern.command.CreateMilestoneCommand;
-import pattern.command.Command;
-import pattern.command.impl.*;
+import pattern.command.CommandJournal;
+import pattern.command.CommandRegistry;
+import pattern.command.JsonFileOutputSink;
+import pattern.command.request.CommandRequest;
 import repository.Database;
+import repository.UserRosterCache;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-public class App {
+public final class App {
     private App() {
     }
 
     private static final String INPUT_USERS_FIELD = "input/database/users.json";
-    private static final ObjectWriter WRITER = new ObjectMapper().writer().withDefaultPrettyPrinter();
+    // Pozițiile argumentelor după --batch
+    private static final int BATCH_INPUT_ARG = 1;
+    private static final int BATCH_OUTPUT_ARG = 2;
+    private static final int BATCH_THREADS_ARG = 3;
+    // Fără flush după fiecare rezultat: generatorul golește buffer-ul în fișier când se umple
+    private static final ObjectWriter WRITER = new ObjectMapper()
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .writer().withDefaultPrettyPrinter();
 
+    /**
+     * Punct de intrare din linia de comandă.
+     * {@code <input> <output> [--restore <snapshot>] [--checkpoint <snapshot>] [--journal <file>]
+     * [--mmap]} rulează un singur fișier, opțional pornind dintr-un checkpoint, salvând starea
+     * finală într-unul, jurnalizând comenzile pentru recuperare după o oprire bruscă și/sau citind
+     * input-ul mapat în memorie (vezi {@link RunOptions});
+     * {@code --batch <inputDir> <outputDir> [threads]} rulează în paralel toate fișierele .json
+     * din director.
+     */
+    public static void main(final String[] args) {
+        if (args.length > BATCH_OUTPUT_ARG && "--batch".equals(args[0])) {
+            int threads = args.length > BATCH_THREADS_ARG
+                    ? Integer.parseInt(args[BATCH_THREADS_ARG])
+                    : Runtime.getRuntime().availableProcessors();
+            runBatch(args[BATCH_INPUT_ARG], args[BATCH_OUTPUT_ARG], threads);
+            return;
+        }
+
+        File restoreFrom = null;
+        File checkpointTo = null;
+        File journal = null;
+        boolean mapInput = false;
+        List<String> positional = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--restore".equals(args[i]) && i + 1 < args.length) {
+                restoreFrom = new File(args[++i]);
+            } else if ("--checkpoint".equals(args[i]) && i + 1 < args.length) {
+                checkpointTo = new File(args[++i]);
+            } else if ("--journal".equals(args[i]) && i + 1 < args.length) {
+                journal = new File(args[++i]);
+            } else if ("--mmap".equals(args[i])) {
+                mapInput = true;
+            } else {
+                positional.add(args[i]);
+            }
+        }
+        if (positional.size() != 2) {
+            System.err.println("Usage: App <input> <output> [--restore <snapshot>]"
+                    + " [--checkpoint <snapshot>] [--journal <file>] [--mmap]"
+                    + " | App --batch <inputDir> <outputDir> [threads]");
+            return;
+        }
+        run(positional.get(0), positional.get(1), new Database(),
+                new RunOptions(restoreFrom, checkpointTo, journal, mapInput));
+    }
+
+    /** Rulează un singur fișier pe un Database nou, izolat de alte rulări din același JVM. */
     public static void run(final String inputPath, final String outputPath) {
-        Database db = Database.getInstance();
+        run(inputPath, outputPath, new Database());
+    }
+
+    /**
+     * Procesează fișierele .json din inputDir pe un pool de threads fire, fiecare cu propriul
+     * Database. Pentru in_X.json rezultatul este scris în outputDir/out_X.json, altfel sub același
+     * nume.
+     * @return numărul de fișiere procesate
+     */
+    public static int runBatch(final String inputDir, final String outputDir, final int threads) {
+        File[] inputs = new File(inputDir)
+                .listFiles(f -> f.isFile() && f.getName().endsWith(".json"));
+        if (inputs == null || inputs.length == 0) {
+            return 0;
+        }
+        Arrays.sort(inputs);
+
+        int poolSize = Math.max(1, Math.min(threads, inputs.length));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<?>> runs = new ArrayList<>(inputs.length);
+            for (File input : inputs) {
+                String name = input.getName().startsWith("in_")
+                        ? "out_" + input.getName().substring("in_".length()) : input.getName();
+                String outputPath = new File(outputDir, name).getPath();
+                runs.add(executor.submit(() -> run(input.getPath(), outputPath, new Database())));
+            }
+            for (Future<?> r : runs) {
+                try {
+                    r.get();
+                } catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return inputs.length;
+    }
+
+    /** Rulează comenzile din inputPath pe Database-ul dat, care este golit înainte. */
+    public static void run(final String inputPath, final String outputPath, final Database db) {
+        run(inputPath, outputPath, db, RunOptions.NONE);
+    }
+
+    /**
+     * Opțiuni de persistență și de citire pentru o rulare; câmpurile de tip File pot fi null.
+     * @param restoreFrom checkpoint din care continuă simularea (inclusiv useri și notificări),
+     *                    în loc să pornească de la zero
+     * @param checkpointTo fișierul în care este salvată starea de la finalul input-ului
+     * @param journal jurnalul comenzilor care modifică starea. Dacă nu este gol la pornire, rularea
+     *                anterioară s-a oprit înainte de final: starea este refăcută din checkpoint-ul
+     *                restoreFrom plus jurnal, output-ul este păstrat până la ultima comandă
+     *                jurnalizată, iar input-ul continuă de la acea comandă. La finalul normal al
+     *                rulării jurnalul este golit.
+     * @param mapInput citește input-ul printr-un {@link MappedJsonParser}, direct din fișierul
+     *                 mapat în memorie, pentru fișierele de comenzi foarte mari
+     */
+    public record RunOptions(File restoreFrom, File checkpointTo, File journal, boolean mapInput) {
+        public static final RunOptions NONE = new RunOptions(null, null, null, false);
+    }
+
+    /** Ca run(inputPath, outputPath, db), cu opțiunile de checkpoint și jurnal date. */
+    public static void run(final String inputPath, final String outputPath, final Database db,
+                           final RunOptions options) {
         db.reset();
 
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
 
-        List<ObjectNode> outputs = new ArrayList<>();
+        File outputFile = new File(outputPath);
+        if (outputFile.getParentFile() != null) {
+            outputFile.getParentFile().mkdirs();
+        }
 
         try {
+            CommandRegistry replayRegistry =
+                    CommandRegistry.createDefault(db, result -> { }, mapper);
+            ObjectReader commandReader = mapper.readerFor(CommandRequest.class);
+
             File usersFile = new File(INPUT_USERS_FIELD);
-            if (usersFile.exists()) {
-                List<User> users = mapper.readValue(usersFile, new TypeReference<List<User>>() {});
-                db.setUsers(users);
+            if (options.restoreFrom() != null) {
+                try (InputStream in =
+                             new BufferedInputStream(new FileInputStream(options.restoreFrom()))) {
+                    db.restore(in);
+                }
+            } else if (usersFile.exists()) {
+                // Roster-ul este parsat o singură dată per versiune a fișierului;
+                // rularea primește copii proprii
+                db.setUsers(UserRosterCache.load(usersFile, mapper));
             }
 
-            File inputFile = new File(inputPath);
-            JsonNode commandsArray = mapper.readTree(inputFile);
-
-            if (commandsArray.isArray()) {
-                for (JsonNode commandNode : commandsArray) {
-                    String commandName = commandNode.get("command").asText();
-                    String timestamp = commandNode.get("timestamp").asText(); // Extrage timestamp-ul curent
+            CommandJournal.Recovery recovery = CommandJournal.Recovery.NONE;
+            if (options.journal() != null) {
+                // Comenzile jurnalizate sunt reexecutate peste starea inițială, fără a produce
+                // output: rezultatele lor sunt deja în output-ul păstrat de rularea întreruptă
+                recovery = CommandJournal.replay(options.journal(), outputFile.length(),
+                        (seq, payload) ->
+                                replayCommand(seq, payload, commandReader, db, replayRegistry));
+            }
+            runCommands(inputPath, outputFile, db, options, mapper, commandReader, recovery);
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+    }
 
-// CRITIC: Actualizăm data în Database ÎNAINTE de a executa comanda
-// Această metodă va verifica dacă am trecut într-o nouă zi și va declanșa notificările automate
-                    Database.getInstance().updateCurrentDate(timestamp);
+    // Execută input-ul, de la punctul de reluare dacă există unul
+    private static void runCommands(final String inputPath, final File outputFile,
+                                    final Database db, final RunOptions options,
+                                    final ObjectMapper mapper, final ObjectReader commandReader,
+                                    final CommandJournal.Recovery recovery) throws IOException {
+        // Rezultatele sunt scrise în fișier pe măsură ce comenzile le produc; la reluare, în
+        // continuarea celor vechi
+        try (JsonFileOutputSink outputs =
+                     new JsonFileOutputSink(WRITER, outputFile, recovery.outputOffset());
+             CommandJournal journal = options.journal() != null
+                     ? new CommandJournal(options.journal(), outputs) : null) {
+            CommandRegistry registry = CommandRegistry.createDefault(db, outputs, mapper);
 
-                    Command command = null;
+            // Citim comenzile în flux, câte un obiect pe rând, legat direct în record-ul comenzii
+            File inputFile = new File(inputPath);
+            try (JsonParser parser = options.mapInput()
+                    ? MappedJsonParser.open(mapper.getFactory(), inputFile)
+                    : mapper.getFactory().createParser(inputFile);
+                 // Cu jurnal, comenzile jurnalizate sunt copiate exact cum apar în input
+                 RawInput rawInput = journal != null ? new RawInput(inputFile) : null) {
+                if (parser.nextToken() == JsonToken.START_ARRAY) {
+                    JsonStreamContext commandsContext = parser.getParsingContext();
+                    // Un checkpoint poate fi luat după lostInvestors; atunci nu se mai execută
+                    // nimic
+                    long seq = -1;
+                    String lastTimestamp = null;
+                    while (!db.isAppClosed() && parser.nextToken() == JsonToken.START_OBJECT) {
+                        seq++;
+                        if (seq < recovery.seq()) {
+                            parser.skipChildren();
+                            continue;
+                        }
+                        // Parser-ul tocmai a citit '{'; poziția token-ului nu este exactă
+                        // pentru parser-ul non-blocking
+                        long commandStart = parser.currentLocation().getByteOffset() - 1;
 
-                    switch (commandName) {
-                        case "reportTicket":
-                            command = new ReportTicketCommand(commandNode, outputs, mapper);
-                            break;
-                        case "viewTickets":
-                            command = new ViewTicketsCommand(commandNode, outputs, mapper);
-                            break;
-                        case "createMilestone":
-                            command = new CreateMilestoneCommand(commandNode, outputs, mapper);
-                            break;
-                        case "viewMilestones":
-                            command = new ViewMilestonesCommand(commandNode, outputs, mapper);
-                            break;
-                        case "assignTicket":
-                            command = new AssignTicketCommand(commandNode, outputs, mapper);
-                            break;
-                        case "undoAssignTicket":
-                            command = new UndoAssignTicketCommand(commandNode, outputs, mapper);
-                            break;
-                        case "addComment":
-                            command = new AddCommentCommand(commandNode, outputs, mapper);
-                            break;
-                        case "undoAddComment":
-                            command = new UndoAddCommentCommand(commandNode, outputs, mapper);
-                            break;
-                        case "viewAssignedTickets":
-                            command = new ViewAssignedTicketsCommand(commandNode, outputs, mapper);
-                            break;
-                        case "lostInvestors":
-                            db.closeApp();
-                            break;
-                        case "changeStatus":
-                            command = new ChangeStatusCommand(commandNode, outputs, mapper);
-                            break;
-                        // --- Comenzi NOI adăugate ---
-                        case "undoChangeStatus":
-                            command = new UndoChangeStatusCommand(commandNode, outputs, mapper);
-                            break;
-                        case "viewTicketHistory":
-                            command = new ViewTicketHistoryCommand(commandNode, outputs, mapper);
-                            break;
-                        case "search":
-                            command = new SearchCommand(commandNode, outputs, mapper);
-                            break;
-                        case "viewNotifications":
-                            command = new ViewNotificationsCommand(commandNode, outputs, mapper);
-                            break;
-                        case "generateCustomerImpactReport":
-                            command = new GenerateCustomerImpactReportCommand(commandNode, outputs, mapper);
-                            break;
-                        // ADAUGĂ ACEST CASE:
-                        case "generateTicketRiskReport":
-                            command = new GenerateTicketRiskReportCommand(commandNode, outputs, mapper);
-                            break;
-                        // ADAUGĂ ACEST CASE:
-                        case "generateResolutionEfficiencyReport":
-                            command = new GenerateResolutionEfficiencyReportCommand(commandNode, outputs, mapper);
-                            break;
-                        // ADAUGĂ ACEST CAZ:
-                        case "appStabilityReport":
-                            command = new GenerateAppStabilityReportCommand(commandNode, outputs, mapper);
-                            break;
-                        // ADAUGĂ ACEST CAZ:
-                        case "generatePerformanceReport":
-                            command = new GeneratePerformanceReportCommand(commandNode, outputs, mapper);
-                            break;
-                        case "startTestingPhase":
-                            command = new StartTestingPhaseCommand(commandNode, outputs, mapper);
-                            break;
-                        // ----------------------------
-                        default:
+                        CommandRequest request;
+                        try {
+                            request = commandReader.readValue(parser);
+                        } catch (JsonProcessingException e) {
+                            // O comandă malformată este sărită, restul input-ului continuă
+                            e.printStackTrace();
+                            skipToEndOfCommand(parser, commandsContext);
+                            continue;
+                        }
+                        if (journal != null
+                                && needsJournal(request, lastTimestamp, db, registry)) {
+                            long commandEnd = parser.currentLocation().getByteOffset();
+                            journal.append(seq, outputs.position(),
+                                    rawInput.read(commandStart, commandEnd));
+                        }
+                        lastTimestamp = request.timestamp();
+                        if (!executeCommand(request, db, registry)) {
                             break;
+                        }
                     }
+                }
+            }
+
+            if (options.checkpointTo() != null) {
+                writeCheckpoint(db, options.checkpointTo(), journal);
+            } else if (journal != null) {
+                journal.clear();
+            }
+        }
+    }
 
+    /**
+     * O comandă de citire este jurnalizată doar dacă avansează data, ceea ce poate produce
+     * notificări; data comenzii anterioare a fost deja aplicată, deci doar un timestamp nou
+     * trebuie verificat.
+     */
+    private static boolean needsJournal(final CommandRequest request, final String lastTimestamp,
+                                        final Database db, final CommandRegistry registry) {
+        return registry.mutatesState(request)
+                || (!request.timestamp().equals(lastTimestamp)
+                && db.advancesDate(request.timestamp()));
+    }
 
+    /**
+     * Citește din input textul comenzilor jurnalizate. Comenzile vin în ordinea din fișier, deci o
+     * fereastră citită secvențial acoperă de obicei comanda următoare fără un nou apel read.
+     */
+    private static final class RawInput implements Closeable {
+        private static final int WINDOW_BYTES = 64 * 1024;
 
-                    if (command != null) {
-                        command.execute();
-                    }
+        private final FileChannel channel;
+        private ByteBuffer window = ByteBuffer.allocate(WINDOW_BYTES);
+        private long windowStart = 0;
 
-                    if (db.isAppClosed()) {
-                        break;
+        RawInput(final File file) throws IOException {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            window.flip();
+        }
+
+        /** Octeții din input între start și end. */
+        byte[] read(final long start, final long end) throws IOException {
+            int length = (int) (end - start);
+            if (start < windowStart || end > windowStart + window.limit()) {
+                if (window.capacity() < length) {
+                    window = ByteBuffer.allocate(length);
+                }
+                window.clear();
+                windowStart = start;
+                while (window.position() < length) {
+                    if (channel.read(window, windowStart + window.position()) < 0) {
+                        throw new IOException("Unexpected end of input at byte "
+                                + (windowStart + window.position()));
                     }
                 }
+                window.flip();
             }
+            byte[] bytes = new byte[length];
+            window.get((int) (start - windowStart), bytes);
+            return bytes;
+        }
 
-            File outputFile = new File(outputPath);
-            if (outputFile.getParentFile() != null) {
-                outputFile.getParentFile().mkdirs();
-            }
-            WRITER.writeValue(outputFile, outputs);
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
 
-        } catch (IOException e) {
+    /**
+     * Reexecută o comandă din jurnal. O înregistrare care nu mai poate fi executată este sărită și
+     * raportată, ca recuperarea să nu se oprească mereu în același punct.
+     */
+    private static void replayCommand(final long seq, final byte[] payload,
+                                      final ObjectReader commandReader, final Database db,
+                                      final CommandRegistry replayRegistry) {
+        try {
+            executeCommand(commandReader.readValue(payload), db, replayRegistry);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Skipping journal record for command " + seq + ": " + e);
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Scrie checkpoint-ul într-un fișier temporar și îl mută peste cel final abia după ce
+     * jurnalul a fost golit. O oprire între pași lasă fie checkpoint-ul vechi cu jurnalul complet,
+     * fie checkpoint-ul vechi fără jurnal (rularea se reia de la început), dar niciodată
+     * checkpoint-ul nou peste care s-ar reaplica jurnalul.
+     */
+    private static void writeCheckpoint(final Database db, final File target,
+                                        final CommandJournal journal) throws IOException {
+        File tmp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+             OutputStream out = new BufferedOutputStream(fos)) {
+            db.checkpoint(out);
+            out.flush();
+            fos.getFD().sync();
+        }
+        if (journal != null) {
+            journal.clear();
+        }
+        Files.move(tmp.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Execută o singură comandă citită din input.
+     * @return false dacă aplicația a fost închisă și nu mai trebuie procesate comenzi
+     */
+    private static boolean executeCommand(final CommandRequest request, final Database db,
+                                          final CommandRegistry registry) {
+        // CRITIC: Actualizăm data în Database ÎNAINTE de a executa comanda
+        // Această metodă va verifica dacă am trecut într-o nouă zi și va declanșa notificările
+        // automate
+        db.updateCurrentDate(request.timestamp());
+
+        registry.dispatch(request);
+
+        return !db.isAppClosed();
+    }
+
+    /** Avansează parser-ul până la sfârșitul obiectului comenzii curente. */
+    private static void skipToEndOfCommand(final JsonParser parser,
+                                           final JsonStreamContext commandsContext)
+            throws IOException {
+        while (!(parser.getParsingContext() == commandsContext
+                && parser.currentToken() == JsonToken.END_OBJECT)) {
+            if (parser.nextToken() == null) {
+                return;
+            }
+        }
+    }
+}
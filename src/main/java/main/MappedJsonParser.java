@@ -0,0 +1,113 @@
+package main;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parser JSON peste un fișier mapat în memorie cu FileChannel.map.
+ * Parser-ul non-blocking al lui Jackson citește direct din ByteBuffer-ele mapării, deci octeții nu mai trec
+ * prin niciun buffer din heap. Un ByteBuffer acoperă cel mult 2 GB, așa că fișierul este dat parser-ului pe
+ * bucăți, pe măsură ce cere input (NOT_AVAILABLE). Maparea aparține unui Arena și este eliberată la close.
+ */
+public final class MappedJsonParser extends JsonParserDelegate {
+    private static final long CHUNK_SIZE = 1L << 30; // 1 GB
+
+    private final Arena arena;
+    private final MemorySegment mapping;
+    private final ByteBufferFeeder feeder;
+    private long fed = 0;
+    private boolean ended = false;
+
+    private MappedJsonParser(JsonParser parser, Arena arena, MemorySegment mapping) {
+        super(parser);
+        this.arena = arena;
+        this.mapping = mapping;
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    public static MappedJsonParser open(JsonFactory factory, File file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Maparea rămâne validă și după închiderea canalului, până la închiderea arenei
+            MemorySegment mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return new MappedJsonParser(factory.createNonBlockingByteBufferParser(), arena, mapping);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // Parser-ul a consumat tot ce a primit: următoarea bucată sau sfârșitul input-ului
+    private void feedNextChunk() throws IOException {
+        if (ended) {
+            throw new IOException("Parser requested input past the end of the mapped file");
+        }
+        if (fed == mapping.byteSize()) {
+            feeder.endOfInput();
+            ended = true;
+            return;
+        }
+        long length = Math.min(CHUNK_SIZE, mapping.byteSize() - fed);
+        ByteBuffer chunk = mapping.asSlice(fed, length).asByteBuffer();
+        fed += length;
+        feeder.feedInput(chunk);
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        while (token == JsonToken.NOT_AVAILABLE) {
+            feedNextChunk();
+            token = delegate.nextToken();
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    // Implementarea delegatului ar repeta nextToken-ul lui, care poate întoarce NOT_AVAILABLE la granița unei bucăți
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        JsonToken current = delegate.currentToken();
+        if (current != JsonToken.START_OBJECT && current != JsonToken.START_ARRAY) {
+            return this;
+        }
+        int open = 1;
+        while (open > 0) {
+            JsonToken token = nextToken();
+            if (token == null) {
+                return this;
+            }
+            if (token.isStructStart()) {
+                open++;
+            } else if (token.isStructEnd()) {
+                open--;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            arena.close();
+        }
+    }
+}
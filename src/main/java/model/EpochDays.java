@@ -0,0 +1,23 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Conversii între datele din JSON ("yyyy-MM-dd") și numărul de zile de la epoch.
+ * Modelele păstrează data parsată o singură dată, la setarea câmpului text.
+ */
+public final class EpochDays {
+    /** Valoare folosită pentru câmpurile fără dată (null sau ""). */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private EpochDays() {
+    }
+
+    public static long parse(String date) {
+        return (date == null || date.isEmpty()) ? NONE : LocalDate.parse(date).toEpochDay();
+    }
+
+    public static LocalDate toLocalDate(long epochDay) {
+        return epochDay == NONE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -1,6 +1,8 @@
 package model;
 
+import java.time.LocalDate;
 import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -15,6 +17,20 @@ public class Milestone {
     private String createdAt;
     private String createdBy;
 
+    // Datele de mai sus, parsate o singură dată la setare (zile de la epoch)
+    @JsonIgnore
+    private long dueDay = EpochDays.NONE;
+    @JsonIgnore
+    private long createdAtDay = EpochDays.NONE;
+
+    // Contoare de progres întreținute de Database la schimbarea statusului tichetelor
+    @JsonIgnore
+    private int openTicketCount;   // tichete existente care nu sunt CLOSED
+    @JsonIgnore
+    private int closedTicketCount; // tichete CLOSED
+    @JsonIgnore
+    private int pendingTicketCount; // ID-uri pentru care tichetul nu a fost încă raportat
+
     public Milestone() {}
 
     // Getters and Setters (asigură-te că le ai pe toate cele de mai sus)
@@ -23,13 +39,59 @@ public class Milestone {
     public List<String> getBlockingFor() { return blockingFor; }
     public void setBlockingFor(List<String> blockingFor) { this.blockingFor = blockingFor; }
     public String getDueDate() { return dueDate; }
-    public void setDueDate(String dueDate) { this.dueDate = dueDate; }
+    public void setDueDate(String dueDate) {
+        this.dueDate = dueDate;
+        this.dueDay = EpochDays.parse(dueDate);
+    }
     public List<Integer> getTickets() { return tickets; }
     public void setTickets(List<Integer> tickets) { this.tickets = tickets; }
     public List<String> getAssignedDevs() { return assignedDevs; }
     public void setAssignedDevs(List<String> assignedDevs) { this.assignedDevs = assignedDevs; }
     public String getCreatedAt() { return createdAt; }
-    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+        this.createdAtDay = EpochDays.parse(createdAt);
+    }
     public String getCreatedBy() { return createdBy; }
     public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+
+    @JsonIgnore
+    public LocalDate getDueLocalDate() { return EpochDays.toLocalDate(dueDay); }
+    @JsonIgnore
+    public LocalDate getCreatedAtLocalDate() { return EpochDays.toLocalDate(createdAtDay); }
+
+    // --- Contoare de progres ---
+
+    @JsonIgnore
+    public int getOpenTicketCount() { return openTicketCount; }
+    @JsonIgnore
+    public int getClosedTicketCount() { return closedTicketCount; }
+    @JsonIgnore
+    public int getPendingTicketCount() { return pendingTicketCount; }
+
+    public void initTicketCounters(int open, int closed, int pending) {
+        this.openTicketCount = open;
+        this.closedTicketCount = closed;
+        this.pendingTicketCount = pending;
+    }
+
+    /** Un tichet referit dar inexistent la crearea milestone-ului a fost raportat (status OPEN). */
+    public void onTicketReported() {
+        pendingTicketCount--;
+        openTicketCount++;
+    }
+
+    public void onTicketClosed() {
+        openTicketCount--;
+        closedTicketCount++;
+    }
+
+    public void onTicketReopened() {
+        closedTicketCount--;
+        openTicketCount++;
+    }
+
+    /** Terminat = toate tichetele referite există și sunt CLOSED. */
+    @JsonIgnore
+    public boolean isFinished() { return openTicketCount == 0 && pendingTicketCount == 0; }
 }
\ No newline at end of file
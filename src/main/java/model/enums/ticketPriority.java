@@ -4,8 +4,20 @@ package model.enums;
 public enum ticketPriority {
     LOW, MEDIUM, HIGH, CRITICAL;
 
+    // values() clonează tabloul la fiecare apel, așa că îl păstrăm o singură dată
+    private static final ticketPriority[] VALUES = values();
+
     public ticketPriority next() {
-        int nextIndex = Math.min(this.ordinal() + 1, ticketPriority.values().length - 1);
-        return ticketPriority.values()[nextIndex];
+        return escalate(1);
+    }
+
+    /**
+     * Crește prioritatea cu numărul dat de trepte, plafonat la CRITICAL.
+     * Echivalent cu apelarea lui next() de {@code steps} ori, fără alocări.
+     */
+    public ticketPriority escalate(int steps) {
+        if (steps <= 0) return this;
+        int index = (int) Math.min((long) ordinal() + steps, VALUES.length - 1);
+        return VALUES[index];
     }
-}
\ No newline at end of file
+}
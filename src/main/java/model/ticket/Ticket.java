@@ -5,11 +5,12 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import model.EpochDays;
 import model.enums.ticketPriority;
 import model.enums.ticketStatus;
 import model.enums.ticketType;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,9 +58,27 @@ public abstract class Ticket {
     // Lista de comentarii
     private List<Comment> comments = new ArrayList<>();
 
+    // Datele de mai sus, parsate o singură dată la setare (zile de la epoch)
+    @JsonIgnore
+    private long createdAtDay = EpochDays.NONE;
+    @JsonIgnore
+    private long assignedAtDay = EpochDays.NONE;
+    @JsonIgnore
+    private long solvedAtDay = EpochDays.NONE;
+    @JsonIgnore
+    private long closedAtDay = EpochDays.NONE;
+
+    // Ultima prioritate calculată, validă doar pentru aceeași zi și aceeași versiune a cache-ului din Database
+    @JsonIgnore
+    private ticketPriority cachedPriority;
+    @JsonIgnore
+    private long cachedPriorityDay = EpochDays.NONE;
+    @JsonIgnore
+    private long cachedPriorityVersion = -1;
+
     // Istoricul acțiunilor - Ignorat la serializarea JSON standard
     @JsonIgnore
-    private List<ObjectNode> actions = new ArrayList<>();
+    private final TicketHistory history = new TicketHistory();
 
     public Ticket() {}
 
@@ -78,7 +97,10 @@ public abstract class Ticket {
     public void setDescription(String description) { this.description = description; }
 
     public ticketPriority getBusinessPriority() { return businessPriority; }
-    public void setBusinessPriority(ticketPriority businessPriority) { this.businessPriority = businessPriority; }
+    public void setBusinessPriority(ticketPriority businessPriority) {
+        this.businessPriority = businessPriority;
+        this.cachedPriority = null; // prioritatea calculată pornește de la cea de business
+    }
 
     public ticketStatus getStatus() { return status; }
     public void setStatus(ticketStatus status) { this.status = status; }
@@ -93,24 +115,63 @@ public abstract class Ticket {
     public void setAssignedTo(String assignedTo) { this.assignedTo = (assignedTo == null) ? "" : assignedTo; }
 
     public String getTimestamp() { return timestamp; }
-    public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+        this.createdAtDay = EpochDays.parse(timestamp);
+    }
 
     public String getAssignedAt() { return assignedAt; }
-    public void setAssignedAt(String assignedAt) { this.assignedAt = assignedAt; }
+    public void setAssignedAt(String assignedAt) {
+        this.assignedAt = assignedAt;
+        this.assignedAtDay = EpochDays.parse(assignedAt);
+    }
 
     public String getSolvedAt() { return solvedAt; }
-    public void setSolvedAt(String solvedAt) { this.solvedAt = solvedAt; }
+    public void setSolvedAt(String solvedAt) {
+        this.solvedAt = solvedAt;
+        this.solvedAtDay = EpochDays.parse(solvedAt);
+    }
 
     // Adăugăm @JsonIgnore aici pentru a ascunde câmpul din output-ul JSON
     @JsonIgnore
     public String getClosedAt() { return closedAt; }
-    public void setClosedAt(String closedAt) { this.closedAt = closedAt; }
+    public void setClosedAt(String closedAt) {
+        this.closedAt = closedAt;
+        this.closedAtDay = EpochDays.parse(closedAt);
+    }
+
+    // Variantele parsate ale datelor (null dacă data lipsește)
+    @JsonIgnore
+    public LocalDate getCreatedAtLocalDate() { return EpochDays.toLocalDate(createdAtDay); }
+    @JsonIgnore
+    public LocalDate getAssignedAtLocalDate() { return EpochDays.toLocalDate(assignedAtDay); }
+    @JsonIgnore
+    public LocalDate getSolvedAtLocalDate() { return EpochDays.toLocalDate(solvedAtDay); }
+    @JsonIgnore
+    public LocalDate getClosedAtLocalDate() { return EpochDays.toLocalDate(closedAtDay); }
+
+    /** Textul în care caută filtrul keywords din search: titlul și descrierea, lowercase. */
+    @JsonIgnore
+    public String getSearchableContent() {
+        String desc = description != null ? description : "";
+        return (title + " " + desc).toLowerCase();
+    }
 
     public List<Comment> getComments() { return comments; }
     public void setComments(List<Comment> comments) { this.comments = comments; }
 
     @JsonIgnore
-    public List<ObjectNode> getActions() { return actions; }
-
-    public void addAction(ObjectNode action) { this.actions.add(action); }
+    public TicketHistory getHistory() { return history; }
+
+    /** Întoarce prioritatea memorată pentru ziua și versiunea date, sau null dacă nu e validă. */
+    public ticketPriority getCachedPriority(long epochDay, long version) {
+        if (cachedPriority == null || cachedPriorityDay != epochDay || cachedPriorityVersion != version) return null;
+        return cachedPriority;
+    }
+
+    public void cachePriority(long epochDay, long version, ticketPriority priority) {
+        this.cachedPriority = priority;
+        this.cachedPriorityDay = epochDay;
+        this.cachedPriorityVersion = version;
+    }
 }
\ No newline at end of file
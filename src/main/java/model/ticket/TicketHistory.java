@@ -0,0 +1,156 @@
+package model.ticket;
+
+import model.EpochDays;
+import model.enums.ticketStatus;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Istoricul de acțiuni al unui tichet, ținut în array-uri paralele în loc de câte un ObjectNode
+ * pe acțiune. Fiecare intrare are tipul acțiunii, autorul (șir internalizat, deci partajat între
+ * intrări și tichete), ziua ca epoch day și un payload mic: statusurile from/to pentru
+ * STATUS_CHANGED sau numele milestone-ului pentru ADDED_TO_MILESTONE. JSON-ul este construit abia
+ * la afișare, de viewTicketHistory.
+ * Pentru STATUS_CHANGED se reține și dacă schimbarea vine din assignTicket, pentru că acolo cheia
+ * "action" era scrisă prima, iar la changeStatus / undoChangeStatus ultima.
+ */
+public final class TicketHistory {
+    public enum Action {
+        ASSIGNED("ASSIGNED"),
+        DE_ASSIGNED("DE-ASSIGNED"),
+        STATUS_CHANGED("STATUS_CHANGED"),
+        ADDED_TO_MILESTONE("ADDED_TO_MILESTONE");
+
+        private static final Action[] VALUES = values();
+        private final String label;
+
+        Action(final String label) {
+            this.label = label;
+        }
+
+        /** Numele acțiunii așa cum apare în output. */
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final ticketStatus[] STATUSES = ticketStatus.values();
+    // Bit din actions[i] pentru STATUS_CHANGED venit din assignTicket
+    private static final int FROM_ASSIGNMENT = 0x40;
+    private static final int ACTION_MASK = 0x3F;
+    // statusChanges[i] = from << STATUS_SHIFT | to
+    private static final int STATUS_SHIFT = 8;
+    private static final int STATUS_MASK = 0xFF;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int size = 0;
+    private byte[] actions = new byte[INITIAL_CAPACITY];
+    private String[] users = new String[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private short[] statusChanges = new short[INITIAL_CAPACITY];
+    // Alocat doar la prima acțiune ADDED_TO_MILESTONE
+    private String[] milestones;
+
+    /** Adaugă o acțiune ASSIGNED făcută de by în ziua timestamp. */
+    public void addAssigned(final String by, final String timestamp) {
+        add(Action.ASSIGNED, by, timestamp);
+    }
+
+    /** Adaugă o acțiune DE-ASSIGNED făcută de by în ziua timestamp. */
+    public void addDeassigned(final String by, final String timestamp) {
+        add(Action.DE_ASSIGNED, by, timestamp);
+    }
+
+    /** Adaugă o schimbare de status din changeStatus sau undoChangeStatus. */
+    public void addStatusChange(final ticketStatus from, final ticketStatus to, final String by,
+                                final String timestamp) {
+        int i = add(Action.STATUS_CHANGED, by, timestamp);
+        statusChanges[i] = (short) (from.ordinal() << STATUS_SHIFT | to.ordinal());
+    }
+
+    /** Schimbarea de status făcută de assignTicket (OPEN -> IN_PROGRESS). */
+    public void addAssignmentStatusChange(final ticketStatus from, final ticketStatus to,
+                                          final String by, final String timestamp) {
+        addStatusChange(from, to, by, timestamp);
+        actions[size - 1] |= FROM_ASSIGNMENT;
+    }
+
+    /** Adaugă o acțiune ADDED_TO_MILESTONE pentru milestone-ul dat. */
+    public void addAddedToMilestone(final String milestone, final String by,
+                                    final String timestamp) {
+        int i = add(Action.ADDED_TO_MILESTONE, by, timestamp);
+        if (milestones == null) {
+            milestones = new String[actions.length];
+        }
+        milestones[i] = milestone == null ? null : milestone.intern();
+    }
+
+    private int add(final Action action, final String by, final String timestamp) {
+        if (size == actions.length) {
+            grow();
+        }
+        int i = size++;
+        actions[i] = (byte) action.ordinal();
+        users[i] = by == null ? null : by.intern();
+        days[i] = (int) EpochDays.parse(timestamp);
+        return i;
+    }
+
+    private void grow() {
+        int capacity = actions.length * 2;
+        actions = Arrays.copyOf(actions, capacity);
+        users = Arrays.copyOf(users, capacity);
+        days = Arrays.copyOf(days, capacity);
+        statusChanges = Arrays.copyOf(statusChanges, capacity);
+        if (milestones != null) {
+            milestones = Arrays.copyOf(milestones, capacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Action action(final int i) {
+        return Action.VALUES[actions[i] & ACTION_MASK];
+    }
+
+    /** Dacă STATUS_CHANGED-ul de la poziția i a fost adăugat de assignTicket. */
+    public boolean isAssignmentStatusChange(final int i) {
+        return (actions[i] & FROM_ASSIGNMENT) != 0;
+    }
+
+    public String by(final int i) {
+        return users[i];
+    }
+
+    public LocalDate date(final int i) {
+        return LocalDate.ofEpochDay(days[i]);
+    }
+
+    /** Statusul de plecare; doar pentru STATUS_CHANGED. */
+    public ticketStatus from(final int i) {
+        return STATUSES[statusChanges[i] >> STATUS_SHIFT];
+    }
+
+    /** Statusul nou; doar pentru STATUS_CHANGED. */
+    public ticketStatus to(final int i) {
+        return STATUSES[statusChanges[i] & STATUS_MASK];
+    }
+
+    /** Numele milestone-ului; doar pentru ADDED_TO_MILESTONE. */
+    public String milestone(final int i) {
+        return milestones == null ? null : milestones[i];
+    }
+
+    /** Dacă userul apare ca autor al vreunei acțiuni. */
+    public boolean hasActionBy(final String username) {
+        for (int i = 0; i < size; i++) {
+            if (username.equals(users[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -15,6 +15,17 @@ public class Developer extends User {
         super();
     }
 
+    private Developer(Developer other) {
+        super(other);
+        this.hireDate = other.hireDate;
+        this.expertiseArea = other.expertiseArea;
+        this.seniority = other.seniority;
+        this.performanceScore = other.performanceScore;
+    }
+
+    @Override
+    public Developer copy() { return new Developer(this); }
+
     // Getters
     public String getHireDate() { return hireDate; }
     public Expertise getExpertiseArea() { return expertiseArea; }
@@ -1,5 +1,6 @@
 package model.user;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class Manager extends User {
@@ -8,6 +9,15 @@ public class Manager extends User {
 
     public Manager() { super(); }
 
+    private Manager(Manager other) {
+        super(other);
+        this.hireDate = other.hireDate;
+        this.subordinates = other.subordinates == null ? null : new ArrayList<>(other.subordinates);
+    }
+
+    @Override
+    public Manager copy() { return new Manager(this); }
+
     // Getters
     public String getHireDate() { return hireDate; }
     public List<String> getSubordinates() { return subordinates; }
@@ -4,4 +4,11 @@ public class Reporter extends User {
     public Reporter() {
         super();
     }
+
+    private Reporter(Reporter other) {
+        super(other);
+    }
+
+    @Override
+    public Reporter copy() { return new Reporter(this); }
 }
\ No newline at end of file
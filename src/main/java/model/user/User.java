@@ -34,6 +34,15 @@ public abstract class User implements Observer {
         this.role = role;
     }
 
+    /** Constructor de copiere: datele de profil sunt partajate (imutabile), notificările sunt copiate. */
+    protected User(User other) {
+        this(other.username, other.email, other.role);
+        this.notifications.addAll(other.notifications);
+    }
+
+    /** Copie independentă, folosită pentru a da fiecărei rulări propriii useri dintr-un roster comun. */
+    public abstract User copy();
+
     // În clasa abstractă User
     protected List<String> notifications = new ArrayList<>();
 
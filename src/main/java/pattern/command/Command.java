@@ -1,8 +1,19 @@
 package pattern.command;
 
-public interface Command {
+import pattern.command.request.CommandRequest;
+
+public interface Command<R extends CommandRequest> {
+    /**
+     * Execută logica specifică comenzii pentru cererea deja legată din input.
+     * Implementările sunt create o singură dată pe rulare și nu păstrează stare între apeluri.
+     */
+    void execute(R request);
+
     /**
-     * Execută logica specifică comenzii.
+     * Dacă execuția poate modifica starea din Database; doar aceste comenzi sunt scrise în jurnal.
+     * Implicit true, ca o comandă nouă să nu fie omisă din jurnal din greșeală.
      */
-    void execute();
-}
\ No newline at end of file
+    default boolean mutatesState() {
+        return true;
+    }
+}
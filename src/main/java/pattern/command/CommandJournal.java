@@ -0,0 +1,194 @@
+package pattern.command;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Jurnal append-only al comenzilor care modifică starea, pentru reluarea unei rulări oprite brusc.
+ * O înregistrare este [lungime][nr. comandă][offset output][payload][CRC32], unde offset-ul este
+ * lungimea output-ului înainte de comandă. Înregistrările sunt scrise în grup, după
+ * GROUP_DELAY_NANOS sau GROUP_SIZE înregistrări, iar output-ul este sincronizat înaintea lor.
+ */
+public final class CommandJournal implements Closeable {
+    private static final int GROUP_SIZE = 32_768;
+    private static final long GROUP_DELAY_NANOS = 200_000_000L; // 200 ms
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    /** Fișierul de output ale cărui offset-uri sunt jurnalizate. */
+    public interface TrackedOutput {
+        /** Trimite în fișier tot ce a fost produs până acum. */
+        void flush() throws IOException;
+
+        /** Ca flush, urmat de fsync. */
+        void sync() throws IOException;
+    }
+
+    /** Primește înregistrările refăcute la recuperare, în ordine. */
+    @FunctionalInterface
+    public interface RecordHandler {
+        /**
+         * Reexecută o comandă jurnalizată.
+         * @param seq numărul de ordine al comenzii în input
+         * @param payload textul comenzii, exact cum apare în input
+         */
+        void accept(long seq, byte[] payload) throws IOException;
+    }
+
+    /**
+     * Punctul din care continuă o rulare recuperată: comanda seq este reexecutată din input, iar
+     * output-ul este trunchiat la outputOffset. {@link #NONE} dacă nu există nimic de recuperat.
+     */
+    public record Recovery(long seq, long outputOffset) {
+        public static final Recovery NONE = new Recovery(-1, -1);
+
+        public boolean isPresent() {
+            return seq >= 0;
+        }
+    }
+
+    private final FileChannel channel;
+    private final TrackedOutput output;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private int unsynced = 0;
+    private long lastSync = System.nanoTime();
+
+    public CommandJournal(final File file, final TrackedOutput output) throws IOException {
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.output = output;
+    }
+
+    /**
+     * Adaugă comanda cu numărul de ordine seq, executată cu output-ul având lungimea outputOffset.
+     * Scrie și sincronizează grupul curent dacă s-a umplut sau a expirat.
+     */
+    public void append(final long seq, final long outputOffset, final byte[] payload)
+            throws IOException {
+        int size = HEADER_BYTES + payload.length + Integer.BYTES;
+        if (pending.remaining() < size) {
+            int capacity = Math.max(pending.capacity() * 2, pending.position() + size);
+            ByteBuffer larger = ByteBuffer.allocate(capacity);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+        int start = pending.position();
+        pending.putInt(payload.length).putLong(seq).putLong(outputOffset).put(payload);
+        crc.reset();
+        crc.update(pending.array(), start + Integer.BYTES,
+                Long.BYTES + Long.BYTES + payload.length);
+        pending.putInt((int) crc.getValue());
+
+        unsynced++;
+        if (unsynced >= GROUP_SIZE || System.nanoTime() - lastSync >= GROUP_DELAY_NANOS) {
+            sync();
+        }
+    }
+
+    /** Scrie și sincronizează grupul curent, după ce output-ul a fost sincronizat. */
+    public void sync() throws IOException {
+        if (unsynced == 0) {
+            return;
+        }
+        output.sync();
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        pending.clear();
+        channel.force(false);
+        unsynced = 0;
+        lastSync = System.nanoTime();
+    }
+
+    /** Golește jurnalul după ce starea pe care o descrie nu mai trebuie recuperată. */
+    public void clear() throws IOException {
+        pending.clear();
+        channel.truncate(0);
+        channel.force(true);
+        unsynced = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Parcurge înregistrările complete din jurnal al căror offset de output încape în outputLength.
+     * Toate în afară de ultima sunt trimise handler-ului; ultima devine punctul de reluare, pentru
+     * ca rezultatele ei să fie produse din nou. Ea și restul fișierului (o coadă trunchiată sau
+     * coruptă de oprirea procesului) sunt tăiate din jurnal, fiindcă vor fi rescrise la reexecuție.
+     */
+    public static Recovery replay(final File file, final long outputLength,
+                                  final RecordHandler handler) throws IOException {
+        if (!file.exists()) {
+            return Recovery.NONE;
+        }
+        Recovery last = Recovery.NONE;
+        long lastPosition = 0;
+        byte[] lastPayload = null;
+        try (FileChannel in = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            CRC32 check = new CRC32();
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(in, header, position);
+                int length = header.getInt(0);
+                long seq = header.getLong(Integer.BYTES);
+                long outputOffset = header.getLong(Integer.BYTES + Long.BYTES);
+                long end = position + HEADER_BYTES + (long) length + Integer.BYTES;
+                if (length < 0 || end > size || outputOffset > outputLength) {
+                    break;
+                }
+
+                ByteBuffer body = ByteBuffer.allocate(length + Integer.BYTES);
+                readFully(in, body, position + HEADER_BYTES);
+                check.reset();
+                check.update(header.array(), Integer.BYTES, Long.BYTES + Long.BYTES);
+                check.update(body.array(), 0, length);
+                if ((int) check.getValue() != body.getInt(length)) {
+                    break;
+                }
+
+                // Înregistrarea anterioară nu mai este ultima, deci poate fi refăcută
+                if (lastPayload != null) {
+                    handler.accept(last.seq(), lastPayload);
+                }
+                lastPayload = new byte[length];
+                System.arraycopy(body.array(), 0, lastPayload, 0, length);
+                last = new Recovery(seq, outputOffset);
+                lastPosition = position;
+                position = end;
+            }
+            if (lastPosition < size) {
+                in.truncate(lastPosition);
+                in.force(true);
+            }
+        }
+        return last;
+    }
+
+    private static void readFully(final FileChannel in, final ByteBuffer buffer,
+                                  final long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of journal");
+            }
+        }
+    }
+}
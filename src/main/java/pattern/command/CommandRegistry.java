@@ -0,0 +1,110 @@
+package pattern.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import pattern.command.impl.*;
+import pattern.command.request.AddCommentRequest;
+import pattern.command.request.CommandRequest;
+import pattern.command.request.CreateMilestoneRequest;
+import pattern.command.request.ReportTicketRequest;
+import pattern.command.request.SearchRequest;
+import pattern.command.request.TicketRequest;
+import pattern.command.request.UserRequest;
+import repository.Database;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Asociază numele comenzilor din input cu handler-ele lor.
+ * Handler-ele sunt construite o singură dată, cu Database-ul și lista de output injectate.
+ * Fiecare nume este legat și de record-ul în care mapper-ul citește comanda
+ * (subtip al CommandRequest).
+ */
+public class CommandRegistry {
+    private final Map<String, Registration<?>> handlers = new HashMap<>();
+    private final ObjectMapper mapper;
+
+    public CommandRegistry(final ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    private record Registration<R extends CommandRequest>(Class<R> requestType,
+                                                         Command<R> handler) {
+        void dispatch(final CommandRequest request) {
+            handler.execute(requestType.cast(request));
+        }
+    }
+
+    /** Leagă numele comenzii de handler și de tipul cererii în care este citită. */
+    public <R extends CommandRequest> void register(final String commandName,
+                                                    final Class<R> requestType,
+                                                    final Command<R> handler) {
+        handlers.put(commandName, new Registration<>(requestType, handler));
+        mapper.registerSubtypes(new NamedType(requestType, commandName));
+    }
+
+    /** Dacă handler-ul cererii poate modifica starea; comenzile necunoscute nu fac nimic. */
+    public boolean mutatesState(final CommandRequest request) {
+        Registration<?> registration = handlers.get(request.command());
+        return registration != null && registration.handler().mutatesState();
+    }
+
+    /**
+     * Trimite cererea la handler-ul înregistrat pentru numele ei.
+     * Comenzile necunoscute sunt ignorate.
+     */
+    public void dispatch(final CommandRequest request) {
+        Registration<?> registration = handlers.get(request.command());
+        if (registration != null) {
+            registration.dispatch(request);
+        }
+    }
+
+    /** Registrul cu toate comenzile din input, legate de db, outputs și mapper. */
+    public static CommandRegistry createDefault(final Database db, final OutputSink outputs,
+                                                final ObjectMapper mapper) {
+        CommandRegistry registry = new CommandRegistry(mapper);
+        registry.register("reportTicket", ReportTicketRequest.class,
+                new ReportTicketCommand(db, outputs, mapper));
+        registry.register("viewTickets", UserRequest.class,
+                new ViewTicketsCommand(db, outputs, mapper));
+        registry.register("createMilestone", CreateMilestoneRequest.class,
+                new CreateMilestoneCommand(db, outputs, mapper));
+        registry.register("viewMilestones", UserRequest.class,
+                new ViewMilestonesCommand(db, outputs, mapper));
+        registry.register("assignTicket", TicketRequest.class,
+                new AssignTicketCommand(db, outputs, mapper));
+        registry.register("undoAssignTicket", TicketRequest.class,
+                new UndoAssignTicketCommand(db, outputs, mapper));
+        registry.register("addComment", AddCommentRequest.class,
+                new AddCommentCommand(db, outputs, mapper));
+        registry.register("undoAddComment", TicketRequest.class,
+                new UndoAddCommentCommand(db, outputs, mapper));
+        registry.register("viewAssignedTickets", UserRequest.class,
+                new ViewAssignedTicketsCommand(db, outputs, mapper));
+        registry.register("lostInvestors", UserRequest.class, request -> db.closeApp());
+        registry.register("changeStatus", TicketRequest.class,
+                new ChangeStatusCommand(db, outputs, mapper));
+        registry.register("undoChangeStatus", TicketRequest.class,
+                new UndoChangeStatusCommand(db, outputs, mapper));
+        registry.register("viewTicketHistory", UserRequest.class,
+                new ViewTicketHistoryCommand(db, outputs, mapper));
+        registry.register("search", SearchRequest.class, new SearchCommand(db, outputs, mapper));
+        registry.register("viewNotifications", UserRequest.class,
+                new ViewNotificationsCommand(db, outputs, mapper));
+        registry.register("generateCustomerImpactReport", UserRequest.class,
+                new GenerateCustomerImpactReportCommand(db, outputs, mapper));
+        registry.register("generateTicketRiskReport", UserRequest.class,
+                new GenerateTicketRiskReportCommand(db, outputs, mapper));
+        registry.register("generateResolutionEfficiencyReport", UserRequest.class,
+                new GenerateResolutionEfficiencyReportCommand(db, outputs, mapper));
+        registry.register("appStabilityReport", UserRequest.class,
+                new GenerateAppStabilityReportCommand(db, outputs, mapper));
+        registry.register("generatePerformanceReport", UserRequest.class,
+                new GeneratePerformanceReportCommand(db, outputs, mapper));
+        registry.register("startTestingPhase", UserRequest.class,
+                new StartTestingPhaseCommand(db, outputs, mapper));
+        return registry;
+    }
+}
@@ -1,33 +1,29 @@
 package pattern.command;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.Milestone;
 import model.ticket.Ticket;
 import model.enums.Role;
 import model.user.User;
-import pattern.command.Command;
+import pattern.command.request.CreateMilestoneRequest;
 import repository.Database;
-import java.util.List;
 
-public class CreateMilestoneCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class CreateMilestoneCommand implements Command<CreateMilestoneRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
     private final Database db;
 
-    public CreateMilestoneCommand(JsonNode commandNode, List<ObjectNode> outputList, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public CreateMilestoneCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
         this.outputList = outputList;
         this.mapper = mapper;
-        this.db = Database.getInstance();
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public void execute(CreateMilestoneRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
         User user = db.findUserByUsername(username);
 
         if (user != null && user.getRole() != Role.MANAGER) {
@@ -41,7 +37,7 @@ public class CreateMilestoneCommand implements Command {
         }
 
         try {
-            Milestone milestone = mapper.treeToValue(commandNode, Milestone.class);
+            Milestone milestone = request.toMilestone();
             milestone.setCreatedAt(timestamp);
             milestone.setCreatedBy(username);
 
@@ -64,12 +60,7 @@ public class CreateMilestoneCommand implements Command {
             for (Integer ticketId : milestone.getTickets()) {
                 Ticket t = db.findTicketById(ticketId);
                 if (t != null) {
-                    ObjectNode action = mapper.createObjectNode();
-                    action.put("action", "ADDED_TO_MILESTONE");
-                    action.put("by", username);
-                    action.put("milestone", milestone.getName());
-                    action.put("timestamp", timestamp);
-                    t.addAction(action);
+                    t.getHistory().addAddedToMilestone(milestone.getName(), username, timestamp);
                 }
             }
             // ----------------------------------
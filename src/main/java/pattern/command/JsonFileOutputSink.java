@@ -0,0 +1,125 @@
+package pattern.command;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Scrie rezultatele incremental, ca elemente ale unui array JSON, pe măsură ce sunt produse.
+ * Folosește același pretty printer ca ObjectWriter-ul primit, deci fișierul final este identic
+ * cu cel obținut serializând lista completă de rezultate.
+ */
+public final class JsonFileOutputSink implements OutputSink, CommandJournal.TrackedOutput, Closeable {
+    // Fișierul de output; cât timp discard este true, octeții sunt aruncați
+    private static final class FileTarget extends OutputStream {
+        private final FileOutputStream file;
+        private boolean discard = false;
+        private long discarded = 0;
+        // Lungimea fișierului
+        private long written;
+
+        FileTarget(final FileOutputStream file, final long written) {
+            this.file = file;
+            this.written = written;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (discard) {
+                discarded++;
+            } else {
+                file.write(b);
+                written++;
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (discard) {
+                discarded += len;
+            } else {
+                file.write(b, off, len);
+                written += len;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+    }
+
+    private final FileTarget target;
+    private final JsonGenerator generator;
+
+    public JsonFileOutputSink(ObjectWriter writer, File outputFile) throws IOException {
+        this(writer, outputFile, -1);
+    }
+
+    /**
+     * Continuă un output scris parțial de o rulare întreruptă: fișierul este trunchiat la resumeAt
+     * octeți, care trebuie să fie o graniță între rezultate (un offset jurnalizat), iar rezultatele
+     * următoare sunt adăugate ca și cum rularea n-ar fi fost oprită. Cu resumeAt negativ fișierul
+     * este rescris de la zero.
+     */
+    public JsonFileOutputSink(final ObjectWriter writer, final File outputFile, final long resumeAt)
+            throws IOException {
+        FileOutputStream file = new FileOutputStream(outputFile, resumeAt >= 0);
+        if (resumeAt >= 0) {
+            file.getChannel().truncate(resumeAt);
+        }
+        this.target = new FileTarget(file, Math.max(resumeAt, 0));
+        this.generator = writer.createGenerator(target, JsonEncoding.UTF8);
+
+        // La reluare, începutul array-ului și rezultatele deja scrise sunt refăcute doar în starea
+        // generatorului
+        target.discard = resumeAt >= 0;
+        generator.writeStartArray();
+        generator.flush();
+        if (resumeAt > target.discarded) {
+            // Un element deja scris: următorul rezultat primește separatorul, ca la o rulare continuă
+            generator.writeNull();
+            generator.flush();
+        }
+        target.discard = false;
+    }
+
+    @Override
+    public void add(ObjectNode result) {
+        try {
+            generator.writeTree(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Lungimea fișierului după ce tot ce a fost produs până acum ajunge în el (fără flush). */
+    public long position() {
+        return target.written + generator.getOutputBuffered();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void sync() throws IOException {
+        flush();
+        target.file.getFD().sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -0,0 +1,11 @@
+package pattern.command;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Destinația rezultatelor produse de comenzi.
+ * Comenzile nu mai modifică nodul după ce l-au adăugat, deci el poate fi scris imediat.
+ */
+public interface OutputSink {
+    void add(ObjectNode result);
+}
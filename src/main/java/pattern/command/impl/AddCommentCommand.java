@@ -1,6 +1,5 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.ticket.Ticket;
@@ -8,30 +7,30 @@ import model.ticket.Comment;
 import model.enums.Role;
 import model.enums.ticketStatus;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.AddCommentRequest;
 import repository.Database;
-import java.util.List;
 
-public class AddCommentCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class AddCommentCommand implements Command<AddCommentRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public AddCommentCommand(JsonNode node, List<ObjectNode> out, ObjectMapper mapper) {
-        this.commandNode = node;
-        this.outputList = out;
+    public AddCommentCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
+        this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        int ticketId = commandNode.get("ticketID").asInt();
+    public void execute(AddCommentRequest request) {
+        int ticketId = request.ticketID();
         Ticket ticket = db.findTicketById(ticketId);
         if (ticket == null) return;
 
-        String username = commandNode.get("username").asText();
-        String commentText = commandNode.get("comment").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+        String username = request.username();
+        String commentText = request.comment();
+        String timestamp = request.timestamp();
         var user = db.findUserByUsername(username);
         if (user == null) return;
 
@@ -1,6 +1,5 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.Milestone;
@@ -11,30 +10,30 @@ import model.enums.Seniority;
 import model.enums.ticketPriority;
 import model.enums.ticketType;
 import model.user.Developer;
-import model.user.User;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.TicketRequest;
 import repository.Database;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class AssignTicketCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class AssignTicketCommand implements Command<TicketRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public AssignTicketCommand(JsonNode node, List<ObjectNode> out, ObjectMapper mapper) {
-        this.commandNode = node;
-        this.outputList = out;
+    public AssignTicketCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
+        this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
-        int ticketId = commandNode.get("ticketID").asInt();
+    public void execute(TicketRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
+        int ticketId = request.ticketID();
 
         Ticket ticket = db.findTicketById(ticketId);
 
@@ -44,10 +43,8 @@ public class AssignTicketCommand implements Command {
             return;
         }
 
-        User user = db.findUserByUsername(username);
-
-        if (!(user instanceof Developer)) return;
-        Developer dev = (Developer) user;
+        Developer dev = db.findDeveloper(username);
+        if (dev == null) return;
 
         // 1. Validare Expertiză
         List<Expertise> requiredExps = getRequiredSpecializations(ticket.getExpertiseArea());
@@ -91,31 +88,22 @@ public class AssignTicketCommand implements Command {
         // --- APLICARE MODIFICĂRI ȘI ISTORIC ---
 
         // Salvez statusul vechi pentru istoric
-        String oldStatus = ticket.getStatus().toString();
+        ticketStatus oldStatus = ticket.getStatus();
 
-        ticket.setStatus(ticketStatus.IN_PROGRESS);
+        db.updateTicketStatus(ticket, ticketStatus.IN_PROGRESS);
         ticket.setAssignedTo(username);
         ticket.setAssignedAt(timestamp);
 
         // Actiunea 1: ASSIGNED
-        ObjectNode assignedAction = mapper.createObjectNode();
-        assignedAction.put("action", "ASSIGNED");
-        assignedAction.put("by", username);
-        assignedAction.put("timestamp", timestamp);
-        ticket.addAction(assignedAction);
+        ticket.getHistory().addAssigned(username, timestamp);
 
         // Actiunea 2: STATUS_CHANGED (din OPEN in IN_PROGRESS)
-        ObjectNode statusAction = mapper.createObjectNode();
-        statusAction.put("action", "STATUS_CHANGED");
-        statusAction.put("from", oldStatus);
-        statusAction.put("to", ticket.getStatus().toString());
-        statusAction.put("by", username);
-        statusAction.put("timestamp", timestamp);
-        ticket.addAction(statusAction);
+        ticket.getHistory()
+                .addAssignmentStatusChange(oldStatus, ticket.getStatus(), username, timestamp);
 
         // ---------------------------------------
 
-        user.update("Ticket " + ticketId + " has been assigned to you.");
+        dev.update("Ticket " + ticketId + " has been assigned to you.");
     }
 
     // ... (restul metodelor private rămân neschimbate)
@@ -1,31 +1,30 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.ticket.Ticket;
 import model.enums.ticketStatus;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.TicketRequest;
 import repository.Database;
-import java.util.List;
 
-public class ChangeStatusCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class ChangeStatusCommand implements Command<TicketRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public ChangeStatusCommand(JsonNode node, List<ObjectNode> out, ObjectMapper mapper) {
-        this.commandNode = node;
-        this.outputList = out;
+    public ChangeStatusCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
+        this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        int ticketId = commandNode.get("ticketID").asInt();
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public void execute(TicketRequest request) {
+        int ticketId = request.ticketID();
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         Ticket ticket = db.findTicketById(ticketId);
         if (ticket == null) return;
@@ -47,22 +46,16 @@ public class ChangeStatusCommand implements Command {
 
         if (oldStatus == ticketStatus.IN_PROGRESS) {
             newStatus = ticketStatus.RESOLVED;
-            ticket.setStatus(newStatus);
+            db.updateTicketStatus(ticket, newStatus);
             ticket.setSolvedAt(timestamp);
         } else if (oldStatus == ticketStatus.RESOLVED) {
             newStatus = ticketStatus.CLOSED;
-            ticket.setStatus(newStatus);
+            db.updateTicketStatus(ticket, newStatus);
             ticket.setClosedAt(timestamp);
         }
 
         if (newStatus != null) {
-            ObjectNode action = mapper.createObjectNode();
-            action.put("from", oldStatus.toString());
-            action.put("to", newStatus.toString());
-            action.put("by", username);
-            action.put("timestamp", timestamp);
-            action.put("action", "STATUS_CHANGED");
-            ticket.addAction(action);
+            ticket.getHistory().addStatusChange(oldStatus, newStatus, username, timestamp);
 
             // --- MODIFICARE START: Verificare dependențe la închidere ---
             if (newStatus == ticketStatus.CLOSED) {
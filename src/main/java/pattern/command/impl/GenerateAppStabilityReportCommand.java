@@ -5,31 +5,30 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.user.User;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import pattern.strategy.CustomerImpactStrategy;
 import pattern.strategy.TicketRiskStrategy;
 import repository.Database;
 
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 
-public class GenerateAppStabilityReportCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputs;
+public class GenerateAppStabilityReportCommand implements Command<UserRequest> {
+    private final OutputSink outputs;
     private final ObjectMapper mapper;
     private final Database db;
 
-    public GenerateAppStabilityReportCommand(JsonNode commandNode, List<ObjectNode> outputs, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public GenerateAppStabilityReportCommand(Database db, OutputSink outputs, ObjectMapper mapper) {
+        this.db = db;
         this.outputs = outputs;
         this.mapper = mapper;
-        this.db = Database.getInstance();
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         User user = db.findUserByUsername(username);
         // 1. Verificare Permisiuni (Manager)
@@ -1,32 +1,35 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.user.User;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import pattern.strategy.CustomerImpactStrategy;
 import pattern.strategy.MetricStrategy;
 import repository.Database;
-import java.util.List;
 
-public class GenerateCustomerImpactReportCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputs;
+public class GenerateCustomerImpactReportCommand implements Command<UserRequest> {
+    private final OutputSink outputs;
     private final ObjectMapper mapper;
     private final Database db;
 
-    public GenerateCustomerImpactReportCommand(JsonNode commandNode, List<ObjectNode> outputs, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public GenerateCustomerImpactReportCommand(Database db, OutputSink outputs, ObjectMapper mapper) {
+        this.db = db;
         this.outputs = outputs;
         this.mapper = mapper;
-        this.db = Database.getInstance();
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public final boolean mutatesState() {
+        return false;
+    }
+
+    @Override
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         User user = db.findUserByUsername(username);
 
@@ -1,33 +1,36 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.user.User;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import pattern.strategy.MetricStrategy;
 import pattern.strategy.TicketRiskStrategy;
 import repository.Database;
 
-import java.util.List;
 
-public class GenerateTicketRiskReportCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputs;
+public class GenerateTicketRiskReportCommand implements Command<UserRequest> {
+    private final OutputSink outputs;
     private final ObjectMapper mapper;
     private final Database db;
 
-    public GenerateTicketRiskReportCommand(JsonNode commandNode, List<ObjectNode> outputs, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public GenerateTicketRiskReportCommand(Database db, OutputSink outputs, ObjectMapper mapper) {
+        this.db = db;
         this.outputs = outputs;
         this.mapper = mapper;
-        this.db = Database.getInstance();
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public final boolean mutatesState() {
+        return false;
+    }
+
+    @Override
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         // 1. Verificare User
         User user = db.findUserByUsername(username);
@@ -9,29 +9,27 @@ import model.enums.ticketPriority;
 import model.enums.ticketType;
 import model.user.User;
 import pattern.command.Command;
-import pattern.factory.ticketFactory;
+import pattern.command.OutputSink;
+import pattern.command.request.ReportTicketRequest;
 import repository.Database;
 
 import java.time.LocalDate;
-import java.util.List;
 
-public class ReportTicketCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class ReportTicketCommand implements Command<ReportTicketRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
     private final Database db;
 
-    public ReportTicketCommand(JsonNode commandNode, List<ObjectNode> outputList, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public ReportTicketCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
         this.outputList = outputList;
         this.mapper = mapper;
-        this.db = Database.getInstance();
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public void execute(ReportTicketRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         // Setup App Start Date la prima comandă, dacă nu există
         if (db.getAppStartDate() == null) {
@@ -60,10 +58,13 @@ public class ReportTicketCommand implements Command {
         }
 
         try {
-            JsonNode paramsNode = commandNode.has("params") ? commandNode.get("params") : commandNode;
-
-            // 4. Creare Tichet
-            Ticket ticket = ticketFactory.createTicketFromCommand(paramsNode, mapper);
+            // 4. Creare Tichet: subclasa este aleasă după câmpul "type"
+            JsonNode paramsNode = request.params();
+            if (!paramsNode.has("type")) {
+                throw new IllegalArgumentException("Ticket type missing in command");
+            }
+            ticketType.valueOf(paramsNode.get("type").asText());
+            Ticket ticket = mapper.treeToValue(paramsNode, Ticket.class);
             ticket.setTimestamp(timestamp);
 
             // Validare specială: Tichete Anonime
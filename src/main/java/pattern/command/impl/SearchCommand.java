@@ -1,10 +1,12 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.SearchRequest;
+import pattern.strategy.SearchFilters;
 import pattern.strategy.SearchStrategy;
 import pattern.strategy.impl.DeveloperSearchStrategy;
 import pattern.strategy.impl.TicketSearchStrategy;
@@ -12,27 +14,31 @@ import repository.Database;
 
 import java.util.List;
 
-public class SearchCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class SearchCommand implements Command<SearchRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public SearchCommand(JsonNode node, List<ObjectNode> out, ObjectMapper mapper) {
-        this.commandNode = node;
-        this.outputList = out;
+    public SearchCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
+        this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
-        JsonNode filters = commandNode.get("filters");
+    public final boolean mutatesState() {
+        return false;
+    }
+
+    @Override
+    public void execute(SearchRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
+        SearchFilters filters = request.filters();
 
         String searchType = "TICKET";
-        if (filters.has("searchType")) {
-            searchType = filters.get("searchType").asText();
+        if (filters.searchType() != null) {
+            searchType = filters.searchType();
         }
 
         SearchStrategy strategy;
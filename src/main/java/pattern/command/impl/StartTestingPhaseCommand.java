@@ -1,44 +1,37 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import model.Milestone;
-import model.ticket.Ticket;
-import model.enums.Role;
-import model.enums.ticketStatus;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import repository.Database;
-import java.util.List;
 
-public class StartTestingPhaseCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class StartTestingPhaseCommand implements Command<UserRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public StartTestingPhaseCommand(JsonNode commandNode, List<ObjectNode> outputList, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public StartTestingPhaseCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
         this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         // Verifică permisiuni (MANAGER)
-        if (db.findUserByUsername(username) == null || db.findUserByUsername(username).getRole() != Role.MANAGER) {
+        if (db.findManager(username) == null) {
             // ... adaugă eroare de permisiune standard ...
             return;
         }
 
-        // Verifică dacă mai sunt milestone-uri active
+        // Verifică dacă mai sunt milestone-uri active (cu tichete existente ne-închise)
         boolean hasActive = db.getMilestones().stream()
-                .anyMatch(m -> m.getTickets().stream()
-                        .map(db::findTicketById)
-                        .anyMatch(t -> t != null && t.getStatus() != ticketStatus.CLOSED));
+                .anyMatch(m -> m.getOpenTicketCount() > 0);
 
         if (hasActive) {
             ObjectNode error = mapper.createObjectNode();
@@ -1,32 +1,34 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.ticket.Ticket;
 import model.ticket.Comment;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.TicketRequest;
 import repository.Database;
 import java.util.List;
 
-public class UndoAddCommentCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class UndoAddCommentCommand implements Command<TicketRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public UndoAddCommentCommand(JsonNode node, List<ObjectNode> out, ObjectMapper mapper) {
-        this.commandNode = node; this.outputList = out; this.mapper = mapper;
+    public UndoAddCommentCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
+        this.outputList = outputList;
+        this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        int ticketId = commandNode.get("ticketID").asInt();
+    public void execute(TicketRequest request) {
+        int ticketId = request.ticketID();
         Ticket ticket = db.findTicketById(ticketId);
         if (ticket == null) return;
 
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         // Mesaj actualizat conform referinței Test 7
         if (ticket.getReportedBy() == null || ticket.getReportedBy().isEmpty()) {
@@ -1,31 +1,30 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.ticket.Ticket;
 import model.enums.ticketStatus;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.TicketRequest;
 import repository.Database;
-import java.util.List;
 
-public class UndoAssignTicketCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class UndoAssignTicketCommand implements Command<TicketRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public UndoAssignTicketCommand(JsonNode commandNode, List<ObjectNode> outputList, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public UndoAssignTicketCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
         this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
-        int ticketId = commandNode.get("ticketID").asInt();
+    public void execute(TicketRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
+        int ticketId = request.ticketID();
 
         Ticket ticket = db.findTicketById(ticketId);
 
@@ -44,14 +43,10 @@ public class UndoAssignTicketCommand implements Command {
         }
 
         // Înregistrăm acțiunea în istoric
-        ObjectNode action = mapper.createObjectNode();
-        action.put("action", "DE-ASSIGNED");
-        action.put("by", username);
-        action.put("timestamp", timestamp);
-        ticket.addAction(action);
+        ticket.getHistory().addDeassigned(username, timestamp);
 
         // Efectuarea operației de renunțare
-        ticket.setStatus(ticketStatus.OPEN);
+        db.updateTicketStatus(ticket, ticketStatus.OPEN);
         ticket.setAssignedTo("");
         ticket.setAssignedAt("");
     }
@@ -1,31 +1,30 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.ticket.Ticket;
 import model.enums.ticketStatus;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.TicketRequest;
 import repository.Database;
-import java.util.List;
 
-public class UndoChangeStatusCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class UndoChangeStatusCommand implements Command<TicketRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public UndoChangeStatusCommand(JsonNode node, List<ObjectNode> out, ObjectMapper mapper) {
-        this.commandNode = node;
-        this.outputList = out;
+    public UndoChangeStatusCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
+        this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        int ticketId = commandNode.get("ticketID").asInt();
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public void execute(TicketRequest request) {
+        int ticketId = request.ticketID();
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         Ticket ticket = db.findTicketById(ticketId);
         if (ticket == null) return;
@@ -45,40 +44,32 @@ public class UndoChangeStatusCommand implements Command {
         // Logica de inversare a stărilor
         if (oldStatus == ticketStatus.CLOSED) {
             // CLOSED -> RESOLVED
-            ticket.setStatus(ticketStatus.RESOLVED);
+            db.updateTicketStatus(ticket, ticketStatus.RESOLVED);
             ticket.setClosedAt("");
-            recordStatusChange(ticket, oldStatus.toString(), ticketStatus.RESOLVED.toString(), username, timestamp);
+            recordStatusChange(ticket, oldStatus, ticketStatus.RESOLVED, username, timestamp);
 
         } else if (oldStatus == ticketStatus.RESOLVED) {
             // RESOLVED -> IN_PROGRESS
-            ticket.setStatus(ticketStatus.IN_PROGRESS);
+            db.updateTicketStatus(ticket, ticketStatus.IN_PROGRESS);
             ticket.setSolvedAt("");
-            recordStatusChange(ticket, oldStatus.toString(), ticketStatus.IN_PROGRESS.toString(), username, timestamp);
+            recordStatusChange(ticket, oldStatus, ticketStatus.IN_PROGRESS, username, timestamp);
 
         } else if (oldStatus == ticketStatus.IN_PROGRESS) {
             // IN_PROGRESS -> OPEN (De-assign)
-            ticket.setStatus(ticketStatus.OPEN);
+            db.updateTicketStatus(ticket, ticketStatus.OPEN);
 
             // Trecerea în OPEN înseamnă și scoaterea developerului (reversul lui AssignTicket)
             ticket.setAssignedTo("");
             ticket.setAssignedAt("");
 
             // Pentru această tranziție specifică, înregistrăm 'DE-ASSIGNED', nu 'STATUS_CHANGED'
-            ObjectNode action = mapper.createObjectNode();
-            action.put("action", "DE-ASSIGNED");
-            action.put("by", username);
-            action.put("timestamp", timestamp);
-            ticket.addAction(action);
+            ticket.getHistory().addDeassigned(username, timestamp);
         }
     }
 
-    private void recordStatusChange(Ticket ticket, String from, String to, String by, String timestamp) {
-        ObjectNode action = mapper.createObjectNode();
-        action.put("from", from);
-        action.put("to", to);
-        action.put("by", by);
-        action.put("timestamp", timestamp);
-        action.put("action", "STATUS_CHANGED");
-        ticket.addAction(action);
+    private void recordStatusChange(final Ticket ticket, final ticketStatus from,
+                                    final ticketStatus to, final String by,
+                                    final String timestamp) {
+        ticket.getHistory().addStatusChange(from, to, by, timestamp);
     }
 }
\ No newline at end of file
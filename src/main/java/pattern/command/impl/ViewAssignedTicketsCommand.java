@@ -1,48 +1,67 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import model.enums.ticketPriority;
 import model.ticket.Ticket;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import repository.Database;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class ViewAssignedTicketsCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class ViewAssignedTicketsCommand implements Command<UserRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public ViewAssignedTicketsCommand(JsonNode commandNode, List<ObjectNode> outputList, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public ViewAssignedTicketsCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
         this.outputList = outputList;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public final boolean mutatesState() {
+        return false;
+    }
+
+    @Override
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
 
-        // 1. Filtrare și sortare folosind PRIORITATEA CALCULATĂ
-        List<Ticket> assigned = db.getTickets().stream()
-                .filter(t -> t.getAssignedTo().equals(username))
-                .sorted((t1, t2) -> {
-                    // Prioritate (CRITICAL > LOW)
-                    int pComp = db.getCalculatedPriority(t2, timestamp)
-                            .compareTo(db.getCalculatedPriority(t1, timestamp));
-                    if (pComp != 0) return pComp;
-                    // CreatedAt crescător
-                    int tComp = t1.getTimestamp().compareTo(t2.getTimestamp());
-                    if (tComp != 0) return tComp;
-                    // ID crescător
-                    return Integer.compare(t1.getId(), t2.getId());
-                })
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.parse(timestamp);
+
+        // 1. Filtrare și sortare folosind PRIORITATEA CALCULATĂ (memorată pe zi în Database)
+        List<Ticket> assigned;
+        if (db.isTimeOrdered()) {
+            assigned = assignedByPriority(username, today);
+        } else {
+            assigned = db.getTickets().stream()
+                    .filter(t -> t.getAssignedTo().equals(username))
+                    .sorted((t1, t2) -> {
+                        // Prioritate (CRITICAL > LOW)
+                        int pComp = db.getCalculatedPriority(t2, today)
+                                .compareTo(db.getCalculatedPriority(t1, today));
+                        if (pComp != 0) {
+                            return pComp;
+                        }
+                        // CreatedAt crescător
+                        int tComp = t1.getTimestamp().compareTo(t2.getTimestamp());
+                        if (tComp != 0) {
+                            return tComp;
+                        }
+                        // ID crescător
+                        return Integer.compare(t1.getId(), t2.getId());
+                    })
+                    .collect(Collectors.toList());
+        }
 
         ObjectNode result = mapper.createObjectNode();
         result.put("command", "viewAssignedTickets");
@@ -61,7 +80,7 @@ public class ViewAssignedTicketsCommand implements Command {
             // deși ai @JsonProperty("createdAt") în Ticket.java, verifică să fie activat.
 
             // În ref_06, Ticket-ul are nevoie de 'createdAt' (care vine din timestamp-ul de raportare)
-            tNode.put("businessPriority", db.getCalculatedPriority(t, timestamp).toString());
+            tNode.put("businessPriority", db.getCalculatedPriority(t, today).toString());
 
             // Eliminăm câmpurile care nu apar în ref pentru viewAssignedTickets
             tNode.remove("assignedTo");
@@ -73,4 +92,29 @@ public class ViewAssignedTicketsCommand implements Command {
         }
         outputList.add(result);
     }
+
+    /**
+     * Aceeași ordine ca sortarea de mai sus, când ordinea ID-urilor este deja ordinea
+     * (createdAt, id): tichetele sunt parcurse o singură dată și grupate stabil pe prioritate,
+     * apoi grupurile sunt concatenate de la CRITICAL la LOW.
+     */
+    private List<Ticket> assignedByPriority(final String username, final LocalDate today) {
+        // Grupul unei priorități este cel de pe poziția ordinal(); ticketPriority este declarat
+        // de la LOW la CRITICAL, aceeași ordine folosită de compareTo în sortarea de mai sus
+        int count = ticketPriority.values().length;
+        List<List<Ticket>> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (Ticket t : db.getTickets()) {
+            if (t.getAssignedTo().equals(username)) {
+                groups.get(db.getCalculatedPriority(t, today).ordinal()).add(t);
+            }
+        }
+        List<Ticket> assigned = new ArrayList<>();
+        for (int i = count - 1; i >= 0; i--) {
+            assigned.addAll(groups.get(i));
+        }
+        return assigned;
+    }
 }
\ No newline at end of file
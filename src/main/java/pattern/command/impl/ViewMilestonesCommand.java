@@ -1,6 +1,5 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -10,31 +9,37 @@ import model.enums.Role;
 import model.enums.ticketStatus;
 import model.user.User;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import repository.Database;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
-public class ViewMilestonesCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class ViewMilestonesCommand implements Command<UserRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
     private final Database db;
 
-    public ViewMilestonesCommand(JsonNode commandNode, List<ObjectNode> outputList, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public ViewMilestonesCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
         this.outputList = outputList;
         this.mapper = mapper;
-        this.db = Database.getInstance();
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public final boolean mutatesState() {
+        return false;
+    }
+
+    @Override
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
         User user = db.findUserByUsername(username);
 
         if (user == null) return;
@@ -72,8 +77,12 @@ public class ViewMilestonesCommand implements Command {
             mNode.put("createdAt", m.getCreatedAt());
             mNode.put("createdBy", m.getCreatedBy());
 
-            List<Ticket> milestoneTickets = db.getTickets().stream()
-                    .filter(t -> m.getTickets().contains(t.getId()))
+            // Doar tichetele milestone-ului (fără duplicate), în ordinea ID-urilor
+            List<Ticket> milestoneTickets = m.getTickets().stream()
+                    .distinct()
+                    .map(db::findTicketById)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.comparingInt(Ticket::getId))
                     .collect(Collectors.toList());
 
             List<Integer> open = milestoneTickets.stream()
@@ -86,11 +95,13 @@ public class ViewMilestonesCommand implements Command {
             mNode.set("openTickets", mapper.valueToTree(open));
             mNode.set("closedTickets", mapper.valueToTree(closed));
 
-            double progress = milestoneTickets.isEmpty() ? 0.0 : (double) closed.size() / milestoneTickets.size();
+            // Progresul se citește din contoarele întreținute de Database
+            int existingTickets = m.getOpenTicketCount() + m.getClosedTicketCount();
+            double progress = existingTickets == 0 ? 0.0 : (double) m.getClosedTicketCount() / existingTickets;
             mNode.put("completionPercentage", Math.round(progress * 100.0) / 100.0);
 
-            LocalDate due = LocalDate.parse(m.getDueDate());
-            boolean isFinished = !milestoneTickets.isEmpty() && open.isEmpty();
+            LocalDate due = m.getDueLocalDate();
+            boolean isFinished = existingTickets > 0 && m.getOpenTicketCount() == 0;
 
             // Statusul este COMPLETED dacă e terminat, altfel ACTIVE
             mNode.put("status", isFinished ? "COMPLETED" : "ACTIVE");
@@ -100,12 +111,11 @@ public class ViewMilestonesCommand implements Command {
             LocalDate referenceDate = now;
             if (isFinished) {
                 // Găsim cea mai târzie dată de închidere
-                String maxClosedAt = milestoneTickets.stream()
-                        .map(Ticket::getClosedAt)
-                        .filter(s -> s != null && !s.isEmpty())
-                        .max(String::compareTo)
-                        .orElse(timestamp); // Fallback, deși n-ar trebui
-                referenceDate = LocalDate.parse(maxClosedAt);
+                referenceDate = milestoneTickets.stream()
+                        .map(Ticket::getClosedAtLocalDate)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(now); // Fallback, deși n-ar trebui
             }
 
             if (referenceDate.isAfter(due)) {
@@ -1,30 +1,31 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.user.User;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import repository.Database;
 import java.util.List;
 
-public class ViewNotificationsCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputs;
+public class ViewNotificationsCommand implements Command<UserRequest> {
+    private final OutputSink outputs;
     private final ObjectMapper mapper;
+    private final Database db;
 
-    public ViewNotificationsCommand(JsonNode commandNode, List<ObjectNode> outputs, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public ViewNotificationsCommand(Database db, OutputSink outputs, ObjectMapper mapper) {
+        this.db = db;
         this.outputs = outputs;
         this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
-        User user = Database.getInstance().findUserByUsername(username);
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
+        User user = db.findUserByUsername(username);
 
         if (user != null) {
             ObjectNode outputNode = mapper.createObjectNode();
@@ -1,30 +1,38 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.ticket.Ticket;
 import model.ticket.Comment;
+import model.ticket.TicketHistory;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import repository.Database;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class ViewTicketHistoryCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class ViewTicketHistoryCommand implements Command<UserRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
-    private final Database db = Database.getInstance();
+    private final Database db;
 
-    public ViewTicketHistoryCommand(JsonNode node, List<ObjectNode> out, ObjectMapper mapper) {
-        this.commandNode = node; this.outputList = out; this.mapper = mapper;
+    public ViewTicketHistoryCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
+        this.outputList = outputList;
+        this.mapper = mapper;
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public final boolean mutatesState() {
+        return false;
+    }
+
+    @Override
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
 
         ObjectNode result = mapper.createObjectNode();
         result.put("command", "viewTicketHistory");
@@ -45,8 +53,9 @@ public class ViewTicketHistoryCommand implements Command {
             tNode.put("status", ticket.getStatus().toString());
 
             ArrayNode actionsArray = tNode.putArray("actions");
-            if (ticket.getActions() != null) {
-                ticket.getActions().forEach(actionsArray::add);
+            TicketHistory history = ticket.getHistory();
+            for (int i = 0; i < history.size(); i++) {
+                actionsArray.add(renderAction(history, i));
             }
 
             // Corectat cheile pentru comentarii
@@ -67,6 +76,42 @@ public class ViewTicketHistoryCommand implements Command {
         outputList.add(result);
     }
 
+    // Intrarea i din istoric, cu aceleași câmpuri, în aceeași ordine, ca în output-ul de până acum
+    private ObjectNode renderAction(final TicketHistory history, final int i) {
+        ObjectNode action = mapper.createObjectNode();
+        String label = history.action(i).label();
+        String by = history.by(i);
+        String date = history.date(i).toString();
+        switch (history.action(i)) {
+            case STATUS_CHANGED -> {
+                // assignTicket scria "action" primul, changeStatus / undoChangeStatus ultimul
+                boolean actionFirst = history.isAssignmentStatusChange(i);
+                if (actionFirst) {
+                    action.put("action", label);
+                }
+                action.put("from", history.from(i).toString());
+                action.put("to", history.to(i).toString());
+                action.put("by", by);
+                action.put("timestamp", date);
+                if (!actionFirst) {
+                    action.put("action", label);
+                }
+            }
+            case ADDED_TO_MILESTONE -> {
+                action.put("action", label);
+                action.put("by", by);
+                action.put("milestone", history.milestone(i));
+                action.put("timestamp", date);
+            }
+            default -> {
+                action.put("action", label);
+                action.put("by", by);
+                action.put("timestamp", date);
+            }
+        }
+        return action;
+    }
+
     // Metoda ajutătoare pentru a determina relevanța unui tichet
     private boolean isRelevantForUser(Ticket t, String username) {
         // Dacă este reporter sau assignee curent
@@ -74,13 +119,6 @@ public class ViewTicketHistoryCommand implements Command {
             return true;
         }
         // Dacă userul apare în istoricul de acțiuni (a lucrat la el în trecut)
-        if (t.getActions() != null) {
-            for (JsonNode action : t.getActions()) {
-                if (action.has("by") && action.get("by").asText().equals(username)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return t.getHistory().hasActionBy(username);
     }
 }
\ No newline at end of file
@@ -1,39 +1,43 @@
 package pattern.command.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import model.Milestone;
-import model.enums.ticketStatus;
 import model.ticket.Ticket;
 import model.enums.Role;
 import model.user.User;
 import pattern.command.Command;
+import pattern.command.OutputSink;
+import pattern.command.request.UserRequest;
 import repository.Database;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
-public class ViewTicketsCommand implements Command {
-    private final JsonNode commandNode;
-    private final List<ObjectNode> outputList;
+public class ViewTicketsCommand implements Command<UserRequest> {
+    private final OutputSink outputList;
     private final ObjectMapper mapper;
     private final Database db;
 
-    public ViewTicketsCommand(JsonNode commandNode, List<ObjectNode> outputList, ObjectMapper mapper) {
-        this.commandNode = commandNode;
+    public ViewTicketsCommand(Database db, OutputSink outputList, ObjectMapper mapper) {
+        this.db = db;
         this.outputList = outputList;
         this.mapper = mapper;
-        this.db = Database.getInstance();
     }
 
     @Override
-    public void execute() {
-        String username = commandNode.get("username").asText();
-        String timestamp = commandNode.get("timestamp").asText();
+    public final boolean mutatesState() {
+        return false;
+    }
+
+    @Override
+    public void execute(UserRequest request) {
+        String username = request.username();
+        String timestamp = request.timestamp();
         User user = db.findUserByUsername(username);
 
         if (user == null) {
@@ -53,18 +57,20 @@ public class ViewTicketsCommand implements Command {
                     .filter(t -> t.getReportedBy() != null && t.getReportedBy().equals(username))
                     .collect(Collectors.toList());
         } else if (user.getRole() == Role.DEVELOPER) {
-            filteredTickets = allTickets.stream()
-                    .filter(t -> t.getStatus() == ticketStatus.OPEN)
-                    .filter(t -> {
-                        Milestone m = db.findMilestoneForTicket(t.getId());
-                        return m != null && m.getAssignedDevs().contains(username);
-                    })
-                    .collect(Collectors.toList());
+            // Tichetele OPEN din milestone-urile developerului, ținute la zi de Database
+            BitSet visible = db.findTicketsVisibleToDeveloper(username);
+            for (int id = visible.nextSetBit(0); id >= 0; id = visible.nextSetBit(id + 1)) {
+                filteredTickets.add(db.findTicketById(id));
+            }
         }
 
-        // Sortare
-        filteredTickets.sort(Comparator.comparing(Ticket::getTimestamp, Comparator.nullsLast(String::compareTo))
-                .thenComparingInt(Ticket::getId));
+        // Sortare; lista este în ordinea ID-urilor, deci e deja sortată cât timp tichetele au fost
+        // adăugate în ordine
+        if (!db.isTimeOrdered()) {
+            filteredTickets.sort(Comparator
+                    .comparing(Ticket::getTimestamp, Comparator.nullsLast(String::compareTo))
+                    .thenComparingInt(Ticket::getId));
+        }
 
         ObjectNode commandOutput = mapper.createObjectNode();
         commandOutput.put("command", "viewTickets");
@@ -72,11 +78,12 @@ public class ViewTicketsCommand implements Command {
         commandOutput.put("username", username);
         commandOutput.put("timestamp", timestamp);
 
+        LocalDate today = LocalDate.parse(timestamp);
         ArrayNode ticketsArray = mapper.createArrayNode();
         for (Ticket t : filteredTickets) {
             ObjectNode tNode = mapper.valueToTree(t);
             // Suprascriem businessPriority cu cea calculată la momentul curent
-            tNode.put("businessPriority", db.getCalculatedPriority(t, timestamp).toString());
+            tNode.put("businessPriority", db.getCalculatedPriority(t, today).toString());
             ticketsArray.add(tNode);
         }
 
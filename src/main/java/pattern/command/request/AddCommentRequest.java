@@ -0,0 +1,8 @@
+package pattern.command.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AddCommentRequest(String command, String username, String timestamp, int ticketID,
+                                String comment) implements CommandRequest {
+}
@@ -0,0 +1,28 @@
+package pattern.command.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * O comandă din input, legată direct din fluxul de token-uri într-un record tipizat.
+ * Subtipul este ales după câmpul "command"; asocierea nume -> record este înregistrată de
+ * CommandRegistry, iar comenzile necunoscute sunt citite ca UserRequest.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonTypeInfo(
+        use = JsonTypeInfo.Id.NAME,
+        include = JsonTypeInfo.As.EXISTING_PROPERTY,
+        property = "command",
+        visible = true,
+        defaultImpl = UserRequest.class
+)
+public interface CommandRequest {
+    /** Numele comenzii, după care este ales handler-ul. */
+    String command();
+
+    /** Utilizatorul care a trimis comanda. */
+    String username();
+
+    /** Data comenzii, în formatul din input (yyyy-MM-dd). */
+    String timestamp();
+}
@@ -0,0 +1,24 @@
+package pattern.command.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import model.Milestone;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CreateMilestoneRequest(String command, String username, String timestamp, String name,
+                                     List<String> blockingFor, String dueDate,
+                                     List<Integer> tickets, List<String> assignedDevs)
+        implements CommandRequest {
+
+    /** Milestone-ul descris de comandă; createdAt și createdBy sunt completate de apelant. */
+    public Milestone toMilestone() {
+        Milestone milestone = new Milestone();
+        milestone.setName(name);
+        milestone.setBlockingFor(blockingFor);
+        milestone.setDueDate(dueDate);
+        milestone.setTickets(tickets);
+        milestone.setAssignedDevs(assignedDevs);
+        return milestone;
+    }
+}
@@ -0,0 +1,28 @@
+package pattern.command.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Câmpurile tichetului sunt păstrate ca JsonNode și legate de ReportTicketCommand abia după
+ * validarea utilizatorului, ca o valoare greșită să nu ascundă erorile de utilizator, rol sau
+ * fază de testare.
+ * Fără obiect "params", câmpurile tichetului sunt citite direct de pe comandă.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ReportTicketRequest(String command, String username, String timestamp,
+                                  JsonNode params) implements CommandRequest {
+
+    /**
+     * Construiește cererea din obiectul întreg al comenzii.
+     * @param node comanda, așa cum apare în input
+     * @return cererea, cu params sau, în lipsa lui, comanda însăși ca sursă a tichetului
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static ReportTicketRequest of(final JsonNode node) {
+        JsonNode params = node.has("params") ? node.get("params") : node;
+        return new ReportTicketRequest(node.path("command").asText(null),
+                node.path("username").asText(null), node.path("timestamp").asText(null), params);
+    }
+}
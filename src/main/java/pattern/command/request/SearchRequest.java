@@ -0,0 +1,9 @@
+package pattern.command.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import pattern.strategy.SearchFilters;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SearchRequest(String command, String username, String timestamp,
+                            SearchFilters filters) implements CommandRequest {
+}
@@ -0,0 +1,9 @@
+package pattern.command.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/** Comandă asupra unui singur tichet (assign, changeStatus, undo-urile lor, undoAddComment). */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TicketRequest(String command, String username, String timestamp, int ticketID)
+        implements CommandRequest {
+}
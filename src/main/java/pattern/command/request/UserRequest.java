@@ -0,0 +1,9 @@
+package pattern.command.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/** Comandă cu doar utilizatorul și momentul execuției (rapoarte, vizualizări, lostInvestors). */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UserRequest(String command, String username, String timestamp)
+        implements CommandRequest {
+}
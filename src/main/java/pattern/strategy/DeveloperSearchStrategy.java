@@ -1,12 +1,11 @@
 package pattern.strategy.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import model.enums.Expertise;
-import model.enums.Role;
 import model.enums.Seniority;
 import model.user.Developer;
+import pattern.strategy.SearchFilters;
 import pattern.strategy.SearchStrategy;
 import repository.Database;
 
@@ -17,23 +16,22 @@ import java.util.stream.Collectors;
 
 public class DeveloperSearchStrategy implements SearchStrategy {
     @Override
-    public List<ObjectNode> search(JsonNode filters, String requesterUsername, ObjectMapper mapper, Database db, String timestamp) {
-        List<Developer> developers = db.getUsers().stream()
-                .filter(u -> u.getRole() == Role.DEVELOPER)
-                .map(u -> (Developer) u)
-                .collect(Collectors.toList());
+    public List<ObjectNode> search(final SearchFilters filters, final String requesterUsername,
+                                   final ObjectMapper mapper, final Database db,
+                                   final String timestamp) {
+        List<Developer> developers = new ArrayList<>(db.getDevelopers());
 
         // Filtrare după expertiză
-        if (filters.has("expertiseArea")) {
-            String expStr = filters.get("expertiseArea").asText();
+        if (filters.expertiseArea() != null) {
+            String expStr = filters.expertiseArea();
             developers = developers.stream()
                     .filter(d -> d.getExpertiseArea() == Expertise.valueOf(expStr))
                     .collect(Collectors.toList());
         }
 
         // Filtrare după senioritate
-        if (filters.has("seniority")) {
-            String senStr = filters.get("seniority").asText();
+        if (filters.seniority() != null) {
+            String senStr = filters.seniority();
             developers = developers.stream()
                     .filter(d -> d.getSeniority() == Seniority.valueOf(senStr))
                     .collect(Collectors.toList());
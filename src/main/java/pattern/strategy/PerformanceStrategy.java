@@ -7,7 +7,6 @@ import model.ticket.Ticket;
 import model.user.Developer;
 import model.user.Manager;
 import model.user.User;
-import model.enums.Role;
 import model.enums.Seniority;
 import model.enums.ticketPriority;
 import model.enums.ticketStatus;
@@ -18,6 +17,7 @@ import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class PerformanceStrategy implements MetricStrategy {
@@ -36,20 +36,18 @@ public class PerformanceStrategy implements MetricStrategy {
         ObjectNode wrapper = mapper.createObjectNode();
         ArrayNode devsArray = wrapper.putArray("result");
 
-        User managerUser = db.findUserByUsername(managerUsername);
-        if (managerUser == null || managerUser.getRole() != Role.MANAGER) {
+        Manager manager = db.findManager(managerUsername);
+        if (manager == null) {
             return wrapper;
         }
-        Manager manager = (Manager) managerUser;
         List<String> subordinates = manager.getSubordinates();
 
         LocalDate cmdDate = LocalDate.parse(commandTimestamp);
         YearMonth targetMonth = YearMonth.from(cmdDate).minusMonths(1);
 
         List<Developer> developers = subordinates.stream()
-                .map(db::findUserByUsername)
-                .filter(u -> u instanceof Developer)
-                .map(u -> (Developer) u)
+                .map(db::findDeveloper)
+                .filter(Objects::nonNull)
                 .sorted(Comparator.comparing(User::getUsername))
                 .collect(Collectors.toList());
 
@@ -80,8 +78,8 @@ public class PerformanceStrategy implements MetricStrategy {
     }
 
     private boolean isClosedInMonth(Ticket t, YearMonth targetMonth) {
-        if (t.getClosedAt() == null || t.getClosedAt().isEmpty()) return false;
-        LocalDate closedDate = LocalDate.parse(t.getClosedAt());
+        LocalDate closedDate = t.getClosedAtLocalDate();
+        if (closedDate == null) return false;
         return YearMonth.from(closedDate).equals(targetMonth);
     }
 
@@ -89,11 +87,9 @@ public class PerformanceStrategy implements MetricStrategy {
         if (tickets.isEmpty()) return 0.0;
         double totalDays = 0;
         for (Ticket t : tickets) {
-            if (t.getAssignedAt() != null && !t.getAssignedAt().isEmpty() &&
-                    t.getSolvedAt() != null && !t.getSolvedAt().isEmpty()) {
-
-                LocalDate start = LocalDate.parse(t.getAssignedAt());
-                LocalDate end = LocalDate.parse(t.getSolvedAt());
+            LocalDate start = t.getAssignedAtLocalDate();
+            LocalDate end = t.getSolvedAtLocalDate();
+            if (start != null && end != null) {
                 long days = ChronoUnit.DAYS.between(start, end);
                 totalDays += (days + 1);
             }
@@ -141,7 +137,7 @@ public class PerformanceStrategy implements MetricStrategy {
     private double calculateMidScore(List<Ticket> tickets, int closedTickets, double avgResTime, Database db) {
         long highPrio = tickets.stream()
                 .filter(t -> {
-                    ticketPriority p = db.getCalculatedPriority(t, t.getSolvedAt());
+                    ticketPriority p = db.getCalculatedPriority(t, t.getSolvedAtLocalDate());
                     return p == ticketPriority.HIGH || p == ticketPriority.CRITICAL;
                 })
                 .count();
@@ -153,7 +149,7 @@ public class PerformanceStrategy implements MetricStrategy {
     private double calculateSeniorScore(List<Ticket> tickets, int closedTickets, double avgResTime, Database db) {
         long highPrio = tickets.stream()
                 .filter(t -> {
-                    ticketPriority p = db.getCalculatedPriority(t, t.getSolvedAt());
+                    ticketPriority p = db.getCalculatedPriority(t, t.getSolvedAtLocalDate());
                     return p == ticketPriority.HIGH || p == ticketPriority.CRITICAL;
                 })
                 .count();
@@ -54,7 +54,7 @@ public class ResolutionEfficiencyStrategy implements MetricStrategy {
             String prio = t.getBusinessPriority().toString();
             byPriority.put(prio, byPriority.getOrDefault(prio, 0) + 1);
 
-            double days = calculateDays(t.getAssignedAt(), t.getSolvedAt());
+            double days = calculateDays(t.getAssignedAtLocalDate(), t.getSolvedAtLocalDate());
             double score = 0.0;
             double maxScore = 1.0;
 
@@ -104,12 +104,10 @@ public class ResolutionEfficiencyStrategy implements MetricStrategy {
         return Math.round(avg * 100.0) / 100.0;
     }
 
-    private double calculateDays(String assignedAt, String solvedAt) {
-        if (assignedAt == null || assignedAt.isEmpty() || solvedAt == null || solvedAt.isEmpty()) {
+    private double calculateDays(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
             return 1.0;
         }
-        LocalDate start = LocalDate.parse(assignedAt);
-        LocalDate end = LocalDate.parse(solvedAt);
         long days = ChronoUnit.DAYS.between(start, end) + 1; // Inclusiv ultima zi
         return Math.max(1.0, (double) days);
     }
@@ -0,0 +1,15 @@
+package pattern.strategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Filtrele unei comenzi search; câmpurile absente din input rămân null (respectiv false).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SearchFilters(String searchType, String type, String businessPriority,
+                            String createdAfter, List<String> keywords,
+                            boolean availableForAssignment, String expertiseArea,
+                            String seniority) {
+}
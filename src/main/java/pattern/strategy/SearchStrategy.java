@@ -1,11 +1,12 @@
 package pattern.strategy;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import repository.Database;
 import java.util.List;
 
 public interface SearchStrategy {
-    List<ObjectNode> search(JsonNode filters, String requesterUsername, ObjectMapper mapper, Database db, String timestamp);
+    /** Rezultatele search-ului pentru filtrele date, văzute de requesterUsername la timestamp. */
+    List<ObjectNode> search(SearchFilters filters, String requesterUsername, ObjectMapper mapper,
+                            Database db, String timestamp);
 }
\ No newline at end of file
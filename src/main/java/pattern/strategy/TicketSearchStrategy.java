@@ -1,6 +1,5 @@
 package pattern.strategy.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -10,93 +9,113 @@ import model.ticket.Ticket;
 import model.user.Developer;
 import model.user.Reporter;
 import model.user.User;
+import pattern.strategy.SearchFilters;
 import pattern.strategy.SearchStrategy;
 import repository.Database;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class TicketSearchStrategy implements SearchStrategy {
     @Override
-    public List<ObjectNode> search(JsonNode filters, String requesterUsername, ObjectMapper mapper, Database db, String timestamp) {
+    public List<ObjectNode> search(final SearchFilters filters, final String requesterUsername,
+                                   final ObjectMapper mapper, final Database db,
+                                   final String timestamp) {
         // Obținem utilizatorul care face cererea pentru a aplica regulile de vizibilitate
         User user = db.findUserByUsername(requesterUsername);
-        List<Ticket> tickets = new ArrayList<>(db.getTickets());
+        // Filtrele restrâng un bitmap de ID-uri; lista de tichete este construită o singură dată,
+        // la final
+        BitSet selected;
 
         // --- 0. Aplicare reguli de vizibilitate (Base Visibility) ---
         if (user instanceof Reporter) {
             // Reporter: vede doar tichetele introduse de el
-            tickets.removeIf(t -> !t.getReportedBy().equals(requesterUsername));
+            selected = new BitSet();
+            for (Ticket t : db.getTickets()) {
+                if (t.getReportedBy().equals(requesterUsername)) {
+                    selected.set(t.getId());
+                }
+            }
         } else if (user instanceof Developer) {
             // Developer: vede doar tichetele OPEN din milestone-urile la care este repartizat
-            tickets.removeIf(t -> {
-                // Elimină dacă nu e OPEN
-                if (t.getStatus() != ticketStatus.OPEN) return true;
-
-                // Elimină dacă nu aparține unui milestone unde dev-ul este asignat
-                Milestone m = db.findMilestoneForTicket(t.getId());
-                return m == null || !m.getAssignedDevs().contains(requesterUsername);
-            });
+            selected = db.findTicketsVisibleToDeveloper(requesterUsername);
+        } else {
+            // Manager: vede tot (nu se aplică filtrări de bază)
+            selected = db.allTicketIds();
         }
-        // Manager: vede tot (nu se aplică filtrări de bază)
 
         // --- 1. Filtrare după tip ---
-        if (filters.has("type")) {
-            String typeStr = filters.get("type").asText();
-            tickets = tickets.stream()
-                    .filter(t -> t.getType().toString().equals(typeStr))
-                    .collect(Collectors.toList());
+        if (filters.type() != null) {
+            ticketType type = byName(ticketType.values(), filters.type());
+            if (type == null) {
+                selected.clear();
+            } else {
+                selected.and(db.findTicketsWithType(type));
+            }
         }
 
         // --- 2. Filtrare după prioritate ---
-        if (filters.has("businessPriority")) {
-            String prioStr = filters.get("businessPriority").asText();
-            tickets = tickets.stream()
-                    .filter(t -> t.getBusinessPriority().toString().equals(prioStr))
-                    .collect(Collectors.toList());
+        if (filters.businessPriority() != null) {
+            ticketPriority priority = byName(ticketPriority.values(), filters.businessPriority());
+            if (priority == null) {
+                selected.clear();
+            } else {
+                selected.and(db.findTicketsWithPriority(priority));
+            }
         }
 
         // --- 3. Filtrare după data creării (createdAfter) ---
-        if (filters.has("createdAfter")) {
-            String dateStr = filters.get("createdAfter").asText();
-            tickets = tickets.stream()
-                    .filter(t -> t.getTimestamp().compareTo(dateStr) > 0)
-                    .collect(Collectors.toList());
+        if (filters.createdAfter() != null) {
+            selected.and(db.findTicketsCreatedAfter(filters.createdAfter()));
         }
 
         // --- 4. Filtrare după cuvinte cheie (keywords) ---
+        // Pentru fiecare keyword, mulțimea tichetelor care îl conțin vine din indexul din Database;
+        // un tichet rămâne dacă apare în cel puțin una, iar aceleași mulțimi dau și matchingWords
         List<String> keywords = new ArrayList<>();
-        if (filters.has("keywords")) {
-            for (JsonNode kw : filters.get("keywords")) {
-                keywords.add(kw.asText().toLowerCase());
+        List<BitSet> keywordMatches = new ArrayList<>();
+        if (filters.keywords() != null) {
+            BitSet anyMatch = new BitSet();
+            for (String kw : filters.keywords()) {
+                String lower = kw.toLowerCase();
+                BitSet matches = db.findTicketsContaining(lower);
+                keywords.add(lower);
+                keywordMatches.add(matches);
+                anyMatch.or(matches);
             }
-            List<String> finalKeywords = keywords;
-            tickets = tickets.stream()
-                    .filter(t -> {
-                        String desc = t.getDescription() != null ? t.getDescription() : "";
-                        String content = (t.getTitle() + " " + desc).toLowerCase();
-                        return finalKeywords.stream().anyMatch(content::contains);
-                    })
-                    .collect(Collectors.toList());
+            selected.and(anyMatch);
         }
 
         // --- 5. Filtrare disponibilitate (availableForAssignment) ---
-        if (filters.has("availableForAssignment") && filters.get("availableForAssignment").asBoolean()) {
+        if (filters.availableForAssignment()) {
             if (user instanceof Developer) {
                 Developer dev = (Developer) user;
-                tickets = tickets.stream()
-                        .filter(t -> isAvailableForAssignment(t, dev, db, timestamp))
-                        .collect(Collectors.toList());
+                LocalDate today = LocalDate.parse(timestamp);
+                for (int id = selected.nextSetBit(0); id >= 0; id = selected.nextSetBit(id + 1)) {
+                    if (!isAvailableForAssignment(db.findTicketById(id), dev, db, today)) {
+                        selected.clear(id);
+                    }
+                }
             }
         }
 
+        List<Ticket> tickets = new ArrayList<>(selected.cardinality());
+        for (int id = selected.nextSetBit(0); id >= 0; id = selected.nextSetBit(id + 1)) {
+            tickets.add(db.findTicketById(id));
+        }
+
         // --- Sortare rezultate (CreatedAt ASC, ID ASC) ---
-        tickets.sort(Comparator.comparing(Ticket::getTimestamp)
-                .thenComparing(Ticket::getId));
+        // Lista este în ordinea ID-urilor, deci e deja sortată cât timp tichetele au fost adăugate
+        // în ordine
+        if (!db.isTimeOrdered()) {
+            tickets.sort(Comparator.comparing(Ticket::getTimestamp)
+                    .thenComparing(Ticket::getId));
+        }
 
         // Construire rezultate JSON
         List<ObjectNode> results = new ArrayList<>();
@@ -114,26 +133,38 @@ public class TicketSearchStrategy implements SearchStrategy {
             // Sortare matchingWords lexicografic
             if (!keywords.isEmpty()) {
                 ArrayNode mwNode = node.putArray("matchingWords");
-                String desc = t.getDescription() != null ? t.getDescription() : "";
-                String content = (t.getTitle() + " " + desc).toLowerCase();
-
-                keywords.stream()
-                        .filter(content::contains)
-                        .sorted()
-                        .forEach(mwNode::add);
+                List<String> matching = new ArrayList<>();
+                for (int i = 0; i < keywords.size(); i++) {
+                    if (keywordMatches.get(i).get(t.getId())) {
+                        matching.add(keywords.get(i));
+                    }
+                }
+                Collections.sort(matching);
+                matching.forEach(mwNode::add);
             }
             results.add(node);
         }
         return results;
     }
 
+    // Constanta cu numele dat sau null; echivalent cu compararea toString() a fiecărui tichet cu
+    // filtrul
+    private static <E extends Enum<E>> E byName(final E[] values, final String name) {
+        for (E value : values) {
+            if (value.name().equals(name)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
     /**
      * Verifică dacă un tichet poate fi preluat (assigned) de un developer.
      * Aceasta implică reguli suplimentare față de simpla vizibilitate (expertiză, senioritate, milestone blocat).
      * Notă: Condițiile de bază (OPEN, apartenență milestone) sunt deja filtrate mai sus,
      * dar le păstrăm aici pentru completitudine sau în caz de reutilizare.
      */
-    private boolean isAvailableForAssignment(Ticket t, Developer dev, Database db, String timestamp) {
+    private boolean isAvailableForAssignment(Ticket t, Developer dev, Database db, LocalDate today) {
         // Trebuie să fie OPEN
         if (t.getStatus() != ticketStatus.OPEN) return false;
 
@@ -145,7 +176,7 @@ public class TicketSearchStrategy implements SearchStrategy {
         if (!requiredExps.contains(dev.getExpertiseArea())) return false;
 
         // Verificare Senioritate
-        ticketPriority currentP = db.getCalculatedPriority(t, timestamp);
+        ticketPriority currentP = db.getCalculatedPriority(t, today);
         List<Seniority> requiredSens = getRequiredSeniorities(t.getType(), currentP);
         if (!requiredSens.contains(dev.getSeniority())) return false;
 
@@ -2,39 +2,100 @@ package repository;
 
 import model.Milestone;
 import model.ticket.Ticket;
+import model.user.Developer;
+import model.user.Manager;
+import model.user.Reporter;
 import model.user.User;
 import model.enums.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 
+/**
+ * Starea unei simulări. Fiecare rulare își creează propria instanță și o transmite comenzilor și strategiilor,
+ * astfel încât mai multe simulări pot rula în paralel în același JVM.
+ */
 public class Database {
-    private static Database instance;
     private List<User> users = new ArrayList<>();
+    // Indexuri derivate din lista de useri, reconstruite în setUsers
+    private final Map<String, User> usersByUsername = new HashMap<>();
+    private final List<Developer> developers = new ArrayList<>();
+    private final List<Manager> managers = new ArrayList<>();
+    private final List<Reporter> reporters = new ArrayList<>();
     private List<Ticket> tickets = new ArrayList<>();
     private List<Milestone> milestones = new ArrayList<>();
+    // Index invers: ID tichet -> milestone-ul din care face parte
+    private final Map<Integer, Milestone> milestoneByTicket = new HashMap<>();
+    // Graful de blocare inversat: nume milestone blocat -> câți blocanți ai lui nu sunt terminați
+    private final Map<String, Integer> unfinishedBlockerCount = new HashMap<>();
+
+    // Trigrame și termeni -> tichetele care îi conțin, pentru filtrul keywords din search
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+    // Tip / prioritate / status -> tichetele cu valoarea respectivă
+    private final TicketAttributeIndex attributeIndex = new TicketAttributeIndex();
+    // Developer -> tichetele OPEN din milestone-urile lui
+    private final DeveloperVisibilityIndex developerVisibility = new DeveloperVisibilityIndex();
+    // Cât timp tichetele sunt adăugate cu createdAt nedescrescător, ordinea ID-urilor este și
+    // ordinea (createdAt, id)
+    private boolean timeOrdered = true;
+
+    // Evenimente "due tomorrow" programate, ordonate după zi și apoi după ordinea creării
+    private record DeadlineEvent(long epochDay, long seq, Milestone milestone) {}
+    private final PriorityQueue<DeadlineEvent> deadlineEvents = new PriorityQueue<>(
+            Comparator.comparingLong(DeadlineEvent::epochDay).thenComparingLong(DeadlineEvent::seq));
+    private long deadlineEventSeq = 0;
+
+    // Versiunea cache-ului de priorități calculate; incrementarea invalidează toate intrările
+    private long priorityCacheVersion = 0;
     private int ticketIdCounter = 0;
     private LocalDate appStartDate;
     private boolean appClosed = false;
     private LocalDate currentSystemDate;
     private java.time.LocalDate currentTestingPhaseStart;
 
-    private Database() {}
+    public Database() {}
 
-    public static synchronized Database getInstance() {
-        if (instance == null) instance = new Database();
-        return instance;
+    // Inițializată leneș, la prima folosire a clasei, fără sincronizare la fiecare apel
+    private static final class SharedInstance {
+        private static final Database INSTANCE = new Database();
+    }
+
+    /**
+     * Instanța globală păstrată pentru codul care încă o folosește; codul nou creează propriul Database.
+     * @deprecated transmiteți explicit instanța de Database
+     */
+    @Deprecated
+    public static Database getInstance() {
+        return SharedInstance.INSTANCE;
     }
 
     // Metoda care lipsea și cauza eroarea
     public ticketPriority getCalculatedPriority(Ticket ticket, String currentTimestamp) {
+        return getCalculatedPriority(ticket, LocalDate.parse(currentTimestamp));
+    }
+
+    public ticketPriority getCalculatedPriority(Ticket ticket, LocalDate now) {
+        long day = now.toEpochDay();
+        ticketPriority cached = ticket.getCachedPriority(day, priorityCacheVersion);
+        if (cached != null) {
+            return cached;
+        }
+
+        ticketPriority p = computePriority(ticket, now);
+        ticket.cachePriority(day, priorityCacheVersion, p);
+        return p;
+    }
+
+    private ticketPriority computePriority(Ticket ticket, LocalDate now) {
         Milestone m = findMilestoneForTicket(ticket.getId());
         if (m == null) return ticket.getBusinessPriority();
         if (isMilestoneBlocked(m)) return ticket.getBusinessPriority();
 
-        LocalDate now = LocalDate.parse(currentTimestamp);
-        LocalDate created = LocalDate.parse(m.getCreatedAt());
-        LocalDate due = LocalDate.parse(m.getDueDate());
+        LocalDate created = m.getCreatedAtLocalDate();
+        LocalDate due = m.getDueLocalDate();
 
         // Regula: Cu o zi înainte de dueDate devine CRITICAL
         if (now.isAfter(due.minusDays(2))) return ticketPriority.CRITICAL;
@@ -43,8 +104,7 @@ public class Database {
         long days = ChronoUnit.DAYS.between(created, now);
         int steps = (int) (days / 3);
 
-        ticketPriority p = ticket.getBusinessPriority();
-        for (int i = 0; i < steps; i++) p = p.next();
+        ticketPriority p = ticket.getBusinessPriority().escalate(steps);
 
         // Regula complex_edge: Dacă depășește senioritatea devului, tichetul devine OPEN
         checkPrioritySeniorityConflict(ticket, p);
@@ -60,20 +120,30 @@ public class Database {
         if (currentSystemDate == null) {
             currentSystemDate = newDate;
             // Check inițial (poate inputul începe direct cu o zi înainte de deadline)
-            checkMilestoneDeadlines(currentSystemDate);
+            fireDeadlineEvents(newDate, newDate);
             return;
         }
 
         // Caz 2: Trecerea timpului (poate sări mai multe zile, ex: de pe 18 pe 21)
-        // Trebuie să verificăm fiecare zi intermediară pentru a prinde momentul "due tomorrow"
-        while (currentSystemDate.isBefore(newDate)) {
-            currentSystemDate = currentSystemDate.plusDays(1);
-            checkMilestoneDeadlines(currentSystemDate);
+        // Nu mai parcurgem zi cu zi: scoatem din coadă doar evenimentele scadente în interval
+        if (currentSystemDate.isBefore(newDate)) {
+            fireDeadlineEvents(currentSystemDate.plusDays(1), newDate);
+            currentSystemDate = newDate;
         }
     }
 
+    /**
+     * Dacă updateCurrentDate(timestampStr) ar modifica starea: prima dată văzută sau o zi nouă,
+     * care poate declanșa notificări de deadline chiar dacă vine de la o comandă de citire.
+     */
+    public boolean advancesDate(final String timestampStr) {
+        return currentSystemDate == null
+                || currentSystemDate.isBefore(LocalDate.parse(timestampStr));
+    }
+
     public void startNewTestingPhase(String timestamp) {
         this.currentTestingPhaseStart = java.time.LocalDate.parse(timestamp);
+        invalidatePriorityCache();
     }
 
     public boolean isInTestingPhase(String currentTimestampStr) {
@@ -98,19 +168,35 @@ public class Database {
         return false;
     }
 
-    private void checkMilestoneDeadlines(LocalDate dateToCheck) {
-        for (Milestone m : milestones) {
+    // Regula: O zi calendaristică înainte (due minus 1 zi) se trimite notificarea "due tomorrow"
+    private void scheduleDeadlineEvent(Milestone m) {
+        if (m.getDueLocalDate() == null) {
+            return;
+        }
+        long eventDay = m.getDueLocalDate().minusDays(1).toEpochDay();
+        // Zilele deja verificate nu se mai reiau
+        if (currentSystemDate != null && eventDay <= currentSystemDate.toEpochDay()) {
+            return;
+        }
+        deadlineEvents.add(new DeadlineEvent(eventDay, deadlineEventSeq++, m));
+    }
+
+    private void fireDeadlineEvents(LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        while (!deadlineEvents.isEmpty() && deadlineEvents.peek().epochDay() <= toDay) {
+            DeadlineEvent event = deadlineEvents.poll();
+            if (event.epochDay() < fromDay) {
+                continue;
+            }
+
+            Milestone m = event.milestone();
             // Ignorăm milestone-urile terminate sau blocate
             if (isMilestoneFinished(m) || isMilestoneBlocked(m)) continue;
 
-            LocalDate due = LocalDate.parse(m.getDueDate());
-
-            // Regula: O zi calendaristică înainte (due minus 1 zi)
-            if (dateToCheck.equals(due.minusDays(1))) {
-                String msg = "Milestone " + m.getName() + " is due tomorrow. All unresolved tickets are now CRITICAL.";
-                // Aceasta va adăuga mesajul în listele Userilor (fără output la consolă)
-                notifyAssignedDevelopers(m, msg);
-            }
+            String msg = "Milestone " + m.getName() + " is due tomorrow. All unresolved tickets are now CRITICAL.";
+            // Aceasta va adăuga mesajul în listele Userilor (fără output la consolă)
+            notifyAssignedDevelopers(m, msg);
         }
     }
 
@@ -132,7 +218,7 @@ public class Database {
 
             // Verificăm dacă blockedM este acum complet deblocat (nu mai are alte dependențe active)
             if (blockedM != null && !isMilestoneBlocked(blockedM)) {
-                LocalDate due = LocalDate.parse(blockedM.getDueDate());
+                LocalDate due = blockedM.getDueLocalDate();
 
                 // Regula: Dacă s-a deblocat DUPĂ deadline
                 if (currentSystemDate.isAfter(due)) {
@@ -163,16 +249,11 @@ public class Database {
     }
 
     public boolean isMilestoneBlocked(Milestone m) {
-        return milestones.stream().anyMatch(other ->
-                other.getBlockingFor() != null &&
-                        other.getBlockingFor().contains(m.getName()) &&
-                        !isMilestoneFinished(other));
+        return unfinishedBlockerCount.getOrDefault(m.getName(), 0) > 0;
     }
 
     private boolean isMilestoneFinished(Milestone m) {
-        return m.getTickets().stream()
-                .map(this::findTicketById)
-                .allMatch(t -> t != null && t.getStatus() == ticketStatus.CLOSED);
+        return m.isFinished();
     }
 
     public void notifyUser(String username, String message) {
@@ -194,26 +275,344 @@ public class Database {
     public boolean isAppClosed() { return appClosed; }
 
     // Gestiune date
-    public void setUsers(List<User> users) { this.users = users; }
+    public void setUsers(List<User> users) {
+        this.users = users;
+        clearUserIndexes();
+        for (User u : users) {
+            // Păstrăm primul user cu un anumit username, ca la căutarea liniară
+            usersByUsername.putIfAbsent(u.getUsername(), u);
+            if (u instanceof Developer) {
+                developers.add((Developer) u);
+            } else if (u instanceof Manager) {
+                managers.add((Manager) u);
+            } else if (u instanceof Reporter) {
+                reporters.add((Reporter) u);
+            }
+        }
+    }
     public List<User> getUsers() { return users; }
-    public List<Ticket> getTickets() { return tickets; }
-    public List<Milestone> getMilestones() { return milestones; }
-    public void addTicket(Ticket t) { t.setId(ticketIdCounter++); tickets.add(t); }
-    public void addMilestone(Milestone m) { milestones.add(m); }
-    public Ticket findTicketById(int id) { return tickets.stream().filter(t -> t.getId() == id).findFirst().orElse(null); }
-    public User findUserByUsername(String u) { return users.stream().filter(user -> user.getUsername().equals(u)).findFirst().orElse(null); }
-    public Milestone findMilestoneForTicket(int id) { return milestones.stream().filter(m -> m.getTickets().contains(id)).findFirst().orElse(null); }
+    public List<Developer> getDevelopers() { return Collections.unmodifiableList(developers); }
+    public List<Manager> getManagers() { return Collections.unmodifiableList(managers); }
+    public List<Reporter> getReporters() { return Collections.unmodifiableList(reporters); }
+    public List<Ticket> getTickets() { return Collections.unmodifiableList(tickets); }
+    public List<Milestone> getMilestones() { return Collections.unmodifiableList(milestones); }
+
+    public void addTicket(Ticket t) {
+        t.setId(ticketIdCounter++);
+        tickets.add(t);
+        indexTicket(t);
+        Milestone m = milestoneByTicket.get(t.getId());
+        if (m != null) {
+            m.onTicketReported();
+            if (t.getStatus() == ticketStatus.OPEN) {
+                developerVisibility.show(m, t.getId());
+            }
+        }
+    }
+
+    // Tichetul a fost deja pus la finalul listei
+    private void indexTicket(final Ticket t) {
+        keywordIndex.add(t.getId(), t.getSearchableContent());
+        attributeIndex.add(t);
+        if (timeOrdered) {
+            int size = tickets.size();
+            String previous = size > 1 ? tickets.get(size - 2).getTimestamp() : "";
+            timeOrdered = t.getTimestamp() != null && previous.compareTo(t.getTimestamp()) <= 0;
+        }
+    }
+
+    public void addMilestone(Milestone m) {
+        milestones.add(m);
+        int open = 0, closed = 0, pending = 0;
+        if (m.getTickets() != null) {
+            for (Integer ticketId : new LinkedHashSet<>(m.getTickets())) {
+                // Primul milestone care conține tichetul rămâne cel găsit, ca la căutarea liniară
+                boolean owned = milestoneByTicket.putIfAbsent(ticketId, m) == null;
+                Ticket t = findTicketById(ticketId);
+                boolean visible = owned && t != null && t.getStatus() == ticketStatus.OPEN;
+                if (visible) {
+                    developerVisibility.show(m, ticketId);
+                }
+                if (t == null) {
+                    pending++;
+                } else if (t.getStatus() == ticketStatus.CLOSED) {
+                    closed++;
+                } else {
+                    open++;
+                }
+            }
+        }
+        m.initTicketCounters(open, closed, pending);
+        if (!m.isFinished()) {
+            adjustBlockedCounts(m, 1);
+        }
+        scheduleDeadlineEvent(m);
+        // Tichetele milestone-ului încep să escaladeze
+        invalidatePriorityCache();
+    }
+
+    private void invalidatePriorityCache() { priorityCacheVersion++; }
+
+    // Un blocant a devenit terminat (delta = -1) sau nu mai e terminat (delta = +1)
+    private void adjustBlockedCounts(Milestone blocker, int delta) {
+        if (blocker.getBlockingFor() == null) {
+            return;
+        }
+        for (String blockedName : new LinkedHashSet<>(blocker.getBlockingFor())) {
+            int before = unfinishedBlockerCount.getOrDefault(blockedName, 0);
+            int after = unfinishedBlockerCount.merge(blockedName, delta, Integer::sum);
+            // S-a schimbat starea de blocare a unui milestone -> prioritățile nu mai sunt valide
+            if ((before > 0) != (after > 0)) {
+                invalidatePriorityCache();
+            }
+        }
+    }
+
+    /**
+     * Singurul punct prin care se schimbă statusul unui tichet existent,
+     * astfel încât contoarele milestone-ului să rămână sincronizate.
+     */
+    public void updateTicketStatus(Ticket t, ticketStatus newStatus) {
+        ticketStatus oldStatus = t.getStatus();
+        t.setStatus(newStatus);
+        attributeIndex.statusChanged(t.getId(), oldStatus, newStatus);
+
+        Milestone m = milestoneByTicket.get(t.getId());
+        if (m == null) {
+            return;
+        }
+        boolean wasOpen = oldStatus == ticketStatus.OPEN;
+        boolean isOpen = newStatus == ticketStatus.OPEN;
+        if (wasOpen && !isOpen) {
+            developerVisibility.hide(m, t.getId());
+        } else if (isOpen && !wasOpen) {
+            developerVisibility.show(m, t.getId());
+        }
+
+        boolean wasClosed = oldStatus == ticketStatus.CLOSED;
+        boolean isClosed = newStatus == ticketStatus.CLOSED;
+        if (wasClosed == isClosed) {
+            return;
+        }
+        boolean wasFinished = m.isFinished();
+        if (isClosed) {
+            m.onTicketClosed();
+        } else {
+            m.onTicketReopened();
+        }
+
+        // Milestone-ul și-a schimbat starea: actualizăm milestone-urile pe care le blochează
+        if (wasFinished != m.isFinished()) {
+            adjustBlockedCounts(m, m.isFinished() ? -1 : 1);
+        }
+    }
+
+    /** Tichetul cu ID-ul dat sau null; ID-urile sunt dense, deci lista este indexată direct. */
+    public Ticket findTicketById(final int id) {
+        return (id >= 0 && id < tickets.size()) ? tickets.get(id) : null;
+    }
+
+    /** Primul user cu username-ul dat sau null. */
+    public User findUserByUsername(final String u) {
+        return usersByUsername.get(u);
+    }
+
+    public Developer findDeveloper(String username) {
+        User u = findUserByUsername(username);
+        return (u instanceof Developer) ? (Developer) u : null;
+    }
+
+    public Manager findManager(String username) {
+        User u = findUserByUsername(username);
+        return (u instanceof Manager) ? (Manager) u : null;
+    }
+
+    /** Primul milestone care conține tichetul sau null. */
+    public Milestone findMilestoneForTicket(final int id) {
+        return milestoneByTicket.get(id);
+    }
+
+    /**
+     * ID-urile tichetelor al căror conținut căutabil conține keyword-ul (deja lowercase) ca subșir.
+     * Keyword-urile de cel puțin 3 caractere sunt verificate cu contains doar pe candidații din
+     * indexul de trigrame. Cele de 1-2 litere/cifre primesc răspuns direct din index; celelalte
+     * keyword-uri scurte (cu spații sau punctuație) sunt căutate în toate tichetele.
+     */
+    public BitSet findTicketsContaining(final String keyword) {
+        if (keyword.length() >= KeywordIndex.GRAM) {
+            BitSet result = keywordIndex.candidates(keyword);
+            for (int id = result.nextSetBit(0); id >= 0; id = result.nextSetBit(id + 1)) {
+                if (!tickets.get(id).getSearchableContent().contains(keyword)) {
+                    result.clear(id);
+                }
+            }
+            return result;
+        }
+        if (KeywordIndex.canAnswerShort(keyword)) {
+            return keywordIndex.matchingShort(keyword);
+        }
+        BitSet result = new BitSet();
+        for (Ticket t : tickets) {
+            if (t.getSearchableContent().contains(keyword)) {
+                result.set(t.getId());
+            }
+        }
+        return result;
+    }
+
+    /** Toate ID-urile de tichete, ca punct de plecare pentru combinarea filtrelor. */
+    public BitSet allTicketIds() {
+        BitSet all = new BitSet(tickets.size());
+        all.set(0, tickets.size());
+        return all;
+    }
+
+    /**
+     * Dacă ordinea ID-urilor coincide cu ordinea (createdAt, id); atunci tichetele luate în
+     * ordinea ID-urilor nu mai trebuie sortate. Devine false doar dacă un tichet are createdAt
+     * mai mic decât cel dinaintea lui.
+     */
+    public boolean isTimeOrdered() {
+        return timeOrdered;
+    }
+
+    /**
+     * ID-urile tichetelor cu createdAt strict după date (comparație de șiruri); căutare binară
+     * când isTimeOrdered.
+     */
+    public BitSet findTicketsCreatedAfter(final String date) {
+        BitSet result = new BitSet(tickets.size());
+        if (timeOrdered) {
+            int lo = 0, hi = tickets.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (tickets.get(mid).getTimestamp().compareTo(date) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            result.set(lo, tickets.size());
+            return result;
+        }
+        for (Ticket t : tickets) {
+            if (t.getTimestamp().compareTo(date) > 0) {
+                result.set(t.getId());
+            }
+        }
+        return result;
+    }
+
+    /** Tichetele OPEN din milestone-urile la care developerul este repartizat; bitmap nou. */
+    public BitSet findTicketsVisibleToDeveloper(final String username) {
+        return developerVisibility.visibleTo(username);
+    }
+
+    /** Tichetele de tipul dat; bitmap nou, pe care apelantul îl poate modifica. */
+    public BitSet findTicketsWithType(final ticketType type) {
+        return attributeIndex.withType(type);
+    }
+
+    /** Tichetele cu prioritatea de business dată; bitmap nou. */
+    public BitSet findTicketsWithPriority(final ticketPriority priority) {
+        return attributeIndex.withPriority(priority);
+    }
+
+    /** Tichetele cu statusul dat; bitmap nou. */
+    public BitSet findTicketsWithStatus(final ticketStatus status) {
+        return attributeIndex.withStatus(status);
+    }
+
     public LocalDate getAppStartDate() { return appStartDate; }
     public void setAppStartDate(LocalDate d) { this.appStartDate = d; }
+
+    private void clearUserIndexes() {
+        usersByUsername.clear();
+        developers.clear();
+        managers.clear();
+        reporters.clear();
+    }
+
+    /**
+     * Scrie starea completă (useri cu notificări, tichete, milestone-uri, date curente, faza de
+     * testare) în formatul binar din DatabaseSnapshot. Stream-ul nu este închis.
+     */
+    public void checkpoint(final OutputStream os) throws IOException {
+        DatabaseSnapshot.Writer out = new DatabaseSnapshot.Writer(os);
+        out.writeDate(appStartDate);
+        out.writeDate(currentSystemDate);
+        out.writeDate(currentTestingPhaseStart);
+        out.writeBoolean(appClosed);
+        out.writeVarInt(users.size());
+        for (User u : users) {
+            out.writeUser(u);
+        }
+        // ID-urile tichetelor sunt pozițiile lor în listă, deci nu se salvează
+        out.writeVarInt(tickets.size());
+        for (Ticket t : tickets) {
+            out.writeTicket(t);
+        }
+        out.writeVarInt(milestones.size());
+        for (Milestone m : milestones) {
+            out.writeMilestone(m);
+        }
+        out.flush();
+    }
+
+    /**
+     * Înlocuiește starea curentă cu cea dintr-un checkpoint.
+     * Indexurile derivate sunt reconstruite adăugând milestone-urile în ordinea inițială,
+     * după ce tichetele și data curentă au fost restaurate.
+     */
+    public void restore(final InputStream is) throws IOException {
+        DatabaseSnapshot.Reader in = new DatabaseSnapshot.Reader(is);
+        reset();
+        appStartDate = in.readDate();
+        currentSystemDate = in.readDate();
+        currentTestingPhaseStart = in.readDate();
+        appClosed = in.readBoolean();
+
+        int userCount = in.readVarInt();
+        List<User> restoredUsers = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            restoredUsers.add(in.readUser());
+        }
+        setUsers(restoredUsers);
+
+        int ticketCount = in.readVarInt();
+        for (int i = 0; i < ticketCount; i++) {
+            Ticket t = in.readTicket(i);
+            tickets.add(t);
+            indexTicket(t);
+        }
+        ticketIdCounter = ticketCount;
+
+        int milestoneCount = in.readVarInt();
+        for (int i = 0; i < milestoneCount; i++) {
+            addMilestone(in.readMilestone());
+        }
+    }
+
     public void reset() {
         users.clear();
+        clearUserIndexes();
         tickets.clear();
         milestones.clear();
+        milestoneByTicket.clear();
+        unfinishedBlockerCount.clear();
+        keywordIndex.clear();
+        attributeIndex.clear();
+        developerVisibility.clear();
+        timeOrdered = true;
+        deadlineEvents.clear();
+        deadlineEventSeq = 0;
         ticketIdCounter = 0;
         appStartDate = null;
         appClosed = false;
 
         // FIX: Resetează și data curentă pentru a nu afecta testele următoare
         currentSystemDate = null;
+        // La fel și faza de testare, altfel o rulare depinde de fișierele procesate înaintea ei
+        currentTestingPhaseStart = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,435 @@
+package repository;
+
+import model.Milestone;
+import model.enums.Expertise;
+import model.enums.Role;
+import model.enums.Seniority;
+import model.enums.ticketPriority;
+import model.enums.ticketStatus;
+import model.enums.ticketType;
+import model.ticket.Bug;
+import model.ticket.Comment;
+import model.ticket.Ticket;
+import model.ticket.TicketHistory;
+import model.ticket.UIFeedback;
+import model.ticket.featureRequest;
+import model.user.Developer;
+import model.user.Manager;
+import model.user.Reporter;
+import model.user.User;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formatul binar al checkpoint-urilor Database: un antet (magic + versiune), apoi entitățile
+ * în ordinea în care au fost create. Întregii sunt scriși ca varint, datele ca zile epoch, iar
+ * fiecare șir distinct este scris o singură dată și apoi referit după index (usernames, date și
+ * statusuri se repetă mult). Indexurile derivate (milestone per tichet, contoare, blocări,
+ * deadline-uri) nu sunt salvate; Database le reconstruiește la restaurare.
+ */
+final class DatabaseSnapshot {
+    private static final int MAGIC = 0x54534E50; // "TSNP"
+    private static final int VERSION = 3;
+
+    private static final int USER_REPORTER = 0;
+    private static final int USER_DEVELOPER = 1;
+    private static final int USER_MANAGER = 2;
+    private static final int TICKET_BUG = 0;
+    private static final int TICKET_FEATURE_REQUEST = 1;
+    private static final int TICKET_UI_FEEDBACK = 2;
+
+    // Varint: 7 biți de date pe octet, bitul cel mai semnificativ marchează că urmează alt octet
+    private static final int VARINT_DATA_BITS = 7;
+    private static final int VARINT_DATA_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int VARINT_MAX_SHIFT = 35;
+
+    private DatabaseSnapshot() {
+    }
+
+    static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> stringIds = new HashMap<>();
+
+        Writer(final OutputStream os) throws IOException {
+            this.out = new DataOutputStream(os);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+        }
+
+        void writeVarInt(final int value) throws IOException {
+            int v = value;
+            while ((v & ~VARINT_DATA_MASK) != 0) {
+                out.writeByte((v & VARINT_DATA_MASK) | VARINT_CONTINUATION);
+                v >>>= VARINT_DATA_BITS;
+            }
+            out.writeByte(v);
+        }
+
+        void writeBoolean(final boolean b) throws IOException {
+            out.writeBoolean(b);
+        }
+
+        // 0 = null, 1 = șir nou urmat de octeții UTF-8, n >= 2 = șirul cu indexul n - 2
+        void writeString(final String s) throws IOException {
+            if (s == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer id = stringIds.get(s);
+            if (id != null) {
+                writeVarInt(id + 2);
+                return;
+            }
+            stringIds.put(s, stringIds.size());
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(1);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeDate(final LocalDate d) throws IOException {
+            out.writeBoolean(d != null);
+            if (d != null) {
+                out.writeLong(d.toEpochDay());
+            }
+        }
+
+        void writeEnum(final Enum<?> e) throws IOException {
+            writeVarInt(e == null ? 0 : e.ordinal() + 1);
+        }
+
+        void writeNullableInt(final Integer v) throws IOException {
+            out.writeBoolean(v != null);
+            if (v != null) {
+                out.writeInt(v);
+            }
+        }
+
+        void writeStrings(final List<String> list) throws IOException {
+            out.writeBoolean(list != null);
+            if (list == null) {
+                return;
+            }
+            writeVarInt(list.size());
+            for (String s : list) {
+                writeString(s);
+            }
+        }
+
+        void writeInts(final List<Integer> list) throws IOException {
+            out.writeBoolean(list != null);
+            if (list == null) {
+                return;
+            }
+            writeVarInt(list.size());
+            for (Integer i : list) {
+                out.writeInt(i);
+            }
+        }
+
+        void writeUser(final User u) throws IOException {
+            if (u instanceof Developer) {
+                writeVarInt(USER_DEVELOPER);
+            } else if (u instanceof Manager) {
+                writeVarInt(USER_MANAGER);
+            } else {
+                writeVarInt(USER_REPORTER);
+            }
+            writeString(u.getUsername());
+            writeString(u.getEmail());
+            writeEnum(u.getRole());
+            writeStrings(u.getNotifications());
+            if (u instanceof Developer d) {
+                writeString(d.getHireDate());
+                writeEnum(d.getExpertiseArea());
+                writeEnum(d.getSeniority());
+                out.writeDouble(d.getPerformanceScore());
+            } else if (u instanceof Manager m) {
+                writeString(m.getHireDate());
+                writeStrings(m.getSubordinates());
+            }
+        }
+
+        void writeTicket(final Ticket t) throws IOException {
+            if (t instanceof featureRequest) {
+                writeVarInt(TICKET_FEATURE_REQUEST);
+            } else if (t instanceof UIFeedback) {
+                writeVarInt(TICKET_UI_FEEDBACK);
+            } else {
+                writeVarInt(TICKET_BUG);
+            }
+            writeEnum(t.getType());
+            writeString(t.getTitle());
+            writeString(t.getDescription());
+            writeEnum(t.getBusinessPriority());
+            writeEnum(t.getStatus());
+            writeString(t.getExpertiseArea());
+            writeString(t.getReportedBy());
+            writeString(t.getAssignedTo());
+            writeString(t.getTimestamp());
+            writeString(t.getAssignedAt());
+            writeString(t.getSolvedAt());
+            writeString(t.getClosedAt());
+
+            writeVarInt(t.getComments().size());
+            for (Comment c : t.getComments()) {
+                writeString(c.getAuthor());
+                writeString(c.getContent());
+                writeString(c.getCreatedAt());
+            }
+
+            TicketHistory history = t.getHistory();
+            writeVarInt(history.size());
+            for (int i = 0; i < history.size(); i++) {
+                writeEnum(history.action(i));
+                writeString(history.by(i));
+                out.writeLong(history.date(i).toEpochDay());
+                switch (history.action(i)) {
+                    case STATUS_CHANGED -> {
+                        writeEnum(history.from(i));
+                        writeEnum(history.to(i));
+                        writeBoolean(history.isAssignmentStatusChange(i));
+                    }
+                    case ADDED_TO_MILESTONE -> writeString(history.milestone(i));
+                    default -> { }
+                }
+            }
+
+            if (t instanceof Bug b) {
+                writeString(b.getExpectedBehavior());
+                writeString(b.getActualBehavior());
+                writeString(b.getFrequency());
+                writeString(b.getSeverity());
+                writeString(b.getEnvironment());
+                writeNullableInt(b.getErrorCode());
+            } else if (t instanceof featureRequest f) {
+                writeString(f.getBusinessValue());
+                writeString(f.getCustomerDemand());
+            } else if (t instanceof UIFeedback ui) {
+                writeString(ui.getUiElementId());
+                writeString(ui.getBusinessValue());
+                writeNullableInt(ui.getUsabilityScore());
+                writeString(ui.getScreenshotUrl());
+                writeString(ui.getSuggestedFix());
+            }
+        }
+
+        void writeMilestone(final Milestone m) throws IOException {
+            writeString(m.getName());
+            writeStrings(m.getBlockingFor());
+            writeString(m.getDueDate());
+            writeInts(m.getTickets());
+            writeStrings(m.getAssignedDevs());
+            writeString(m.getCreatedAt());
+            writeString(m.getCreatedBy());
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(final InputStream is) throws IOException {
+            this.in = new DataInputStream(is);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a database snapshot");
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+        }
+
+        int readVarInt() throws IOException {
+            int v = 0;
+            for (int shift = 0; shift < VARINT_MAX_SHIFT; shift += VARINT_DATA_BITS) {
+                int b = in.readUnsignedByte();
+                v |= (b & VARINT_DATA_MASK) << shift;
+                if ((b & VARINT_CONTINUATION) == 0) {
+                    return v;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        boolean readBoolean() throws IOException {
+            return in.readBoolean();
+        }
+
+        String readString() throws IOException {
+            int tag = readVarInt();
+            if (tag == 0) {
+                return null;
+            }
+            if (tag >= 2) {
+                return strings.get(tag - 2);
+            }
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            String s = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(s);
+            return s;
+        }
+
+        LocalDate readDate() throws IOException {
+            return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+        }
+
+        <E extends Enum<E>> E readEnum(final E[] values) throws IOException {
+            int v = readVarInt();
+            return v == 0 ? null : values[v - 1];
+        }
+
+        Integer readNullableInt() throws IOException {
+            return in.readBoolean() ? in.readInt() : null;
+        }
+
+        List<String> readStrings() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            int n = readVarInt();
+            List<String> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                list.add(readString());
+            }
+            return list;
+        }
+
+        List<Integer> readInts() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            int n = readVarInt();
+            List<Integer> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                list.add(in.readInt());
+            }
+            return list;
+        }
+
+        User readUser() throws IOException {
+            int kind = readVarInt();
+            User u = switch (kind) {
+                case USER_DEVELOPER -> new Developer();
+                case USER_MANAGER -> new Manager();
+                case USER_REPORTER -> new Reporter();
+                default -> throw new IOException("Unknown user kind " + kind);
+            };
+            u.setUsername(readString());
+            u.setEmail(readString());
+            u.setRole(readEnum(Role.values()));
+            for (String notification : readStrings()) {
+                u.update(notification);
+            }
+            if (u instanceof Developer d) {
+                d.setHireDate(readString());
+                d.setExpertiseArea(readEnum(Expertise.values()));
+                d.setSeniority(readEnum(Seniority.values()));
+                d.setPerformanceScore(in.readDouble());
+            } else if (u instanceof Manager m) {
+                m.setHireDate(readString());
+                m.setSubordinates(readStrings());
+            }
+            return u;
+        }
+
+        Ticket readTicket(final int id) throws IOException {
+            int kind = readVarInt();
+            Ticket t = switch (kind) {
+                case TICKET_BUG -> new Bug();
+                case TICKET_FEATURE_REQUEST -> new featureRequest();
+                case TICKET_UI_FEEDBACK -> new UIFeedback();
+                default -> throw new IOException("Unknown ticket kind " + kind);
+            };
+            t.setId(id);
+            t.setType(readEnum(ticketType.values()));
+            t.setTitle(readString());
+            t.setDescription(readString());
+            t.setBusinessPriority(readEnum(ticketPriority.values()));
+            t.setStatus(readEnum(ticketStatus.values()));
+            t.setExpertiseArea(readString());
+            t.setReportedBy(readString());
+            t.setAssignedTo(readString());
+            t.setTimestamp(readString());
+            t.setAssignedAt(readString());
+            t.setSolvedAt(readString());
+            t.setClosedAt(readString());
+
+            int comments = readVarInt();
+            for (int i = 0; i < comments; i++) {
+                t.getComments().add(new Comment(readString(), readString(), readString()));
+            }
+
+            int actions = readVarInt();
+            TicketHistory history = t.getHistory();
+            for (int i = 0; i < actions; i++) {
+                TicketHistory.Action action = readEnum(TicketHistory.Action.values());
+                String by = readString();
+                String timestamp = LocalDate.ofEpochDay(in.readLong()).toString();
+                switch (action) {
+                    case ASSIGNED -> history.addAssigned(by, timestamp);
+                    case DE_ASSIGNED -> history.addDeassigned(by, timestamp);
+                    case STATUS_CHANGED -> {
+                        ticketStatus from = readEnum(ticketStatus.values());
+                        ticketStatus to = readEnum(ticketStatus.values());
+                        if (readBoolean()) {
+                            history.addAssignmentStatusChange(from, to, by, timestamp);
+                        } else {
+                            history.addStatusChange(from, to, by, timestamp);
+                        }
+                    }
+                    case ADDED_TO_MILESTONE ->
+                            history.addAddedToMilestone(readString(), by, timestamp);
+                    default -> throw new IOException("Unknown history action " + action);
+                }
+            }
+
+            if (t instanceof Bug b) {
+                b.setExpectedBehavior(readString());
+                b.setActualBehavior(readString());
+                b.setFrequency(readString());
+                b.setSeverity(readString());
+                b.setEnvironment(readString());
+                b.setErrorCode(readNullableInt());
+            } else if (t instanceof featureRequest f) {
+                f.setBusinessValue(readString());
+                f.setCustomerDemand(readString());
+            } else if (t instanceof UIFeedback ui) {
+                ui.setUiElementId(readString());
+                ui.setBusinessValue(readString());
+                ui.setUsabilityScore(readNullableInt());
+                ui.setScreenshotUrl(readString());
+                ui.setSuggestedFix(readString());
+            }
+            return t;
+        }
+
+        Milestone readMilestone() throws IOException {
+            Milestone m = new Milestone();
+            m.setName(readString());
+            m.setBlockingFor(readStrings());
+            m.setDueDate(readString());
+            m.setTickets(readInts());
+            m.setAssignedDevs(readStrings());
+            m.setCreatedAt(readString());
+            m.setCreatedBy(readString());
+            return m;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package repository;
+
+import model.Milestone;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pentru fiecare developer, tichetele pe care le vede: cele OPEN din milestone-urile la care este
+ * repartizat. Milestone-ul unui tichet nu se mai schimbă după ce a fost stabilit, deci Database
+ * actualizează setul doar la crearea unui milestone, la adăugarea unui tichet deja listat într-unul
+ * și la intrarea/ieșirea din OPEN.
+ */
+final class DeveloperVisibilityIndex {
+    private final Map<String, BitSet> visible = new HashMap<>();
+
+    void show(final Milestone m, final int ticketId) {
+        if (m.getAssignedDevs() == null) {
+            return;
+        }
+        for (String dev : m.getAssignedDevs()) {
+            visible.computeIfAbsent(dev, k -> new BitSet()).set(ticketId);
+        }
+    }
+
+    void hide(final Milestone m, final int ticketId) {
+        if (m.getAssignedDevs() == null) {
+            return;
+        }
+        for (String dev : m.getAssignedDevs()) {
+            BitSet set = visible.get(dev);
+            if (set != null) {
+                set.clear(ticketId);
+            }
+        }
+    }
+
+    // Copie, ca apelantul să o poată combina fără să modifice indexul
+    BitSet visibleTo(final String username) {
+        BitSet set = visible.get(username);
+        return set == null ? new BitSet() : (BitSet) set.clone();
+    }
+
+    void clear() {
+        visible.clear();
+    }
+}
@@ -0,0 +1,143 @@
+package repository;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index pentru filtrul keywords din search, care păstrează semantica de subșir a lui contains().
+ * Conținutul căutabil (titlu + descriere, lowercase) este indexat în două feluri:
+ * <ul>
+ *   <li>trigrame: orice secvență de 3 caractere -> tichetele care o conțin. Un keyword de cel
+ *   puțin 3 caractere poate apărea doar în tichetele care conțin toate trigramele lui, deci
+ *   intersecția listelor dă un set de candidați, verificați apoi cu contains de Database;</li>
+ *   <li>secvențe scurte: orice secvență de 1 sau 2 litere/cifre -> tichetele care o conțin.
+ *   Un keyword scurt format doar din litere și cifre primește răspuns exact dintr-o singură
+ *   listă, fără să parcurgă tichetele sau vocabularul.</li>
+ * </ul>
+ * Keyword-urile scurte care conțin alte caractere (spații, punctuație) nu sunt indexate.
+ */
+final class KeywordIndex {
+    static final int GRAM = 3;
+
+    // Lungimea secvenței scurte, pusă peste cele două caractere împachetate
+    private static final int SHORT_LENGTH_SHIFT = 32;
+    private static final int CHAR_BITS = 16;
+
+    // ID-urile sunt adăugate în ordine crescătoare, deci fiecare listă este sortată
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size = 0;
+
+        void add(final int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean contains(final int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void addTo(final BitSet set) {
+            for (int i = 0; i < size; i++) {
+                set.set(ids[i]);
+            }
+        }
+    }
+
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+    private final Map<Long, Postings> shortGrams = new HashMap<>();
+
+    void add(final int ticketId, final String content) {
+        for (int i = 0; i + GRAM <= content.length(); i++) {
+            trigrams.computeIfAbsent(trigram(content, i), k -> new Postings()).add(ticketId);
+        }
+
+        for (int i = 0; i < content.length(); i++) {
+            if (!Character.isLetterOrDigit(content.charAt(i))) {
+                continue;
+            }
+            shortGrams.computeIfAbsent(shortGram(content, i, 1), k -> new Postings()).add(ticketId);
+            if (i + 1 < content.length() && Character.isLetterOrDigit(content.charAt(i + 1))) {
+                shortGrams.computeIfAbsent(shortGram(content, i, 2), k -> new Postings())
+                        .add(ticketId);
+            }
+        }
+    }
+
+    // Cele 3 caractere UTF-16 împachetate într-un long
+    private static long trigram(final String s, final int i) {
+        return (long) s.charAt(i) << 2 * CHAR_BITS | (long) s.charAt(i + 1) << CHAR_BITS
+                | s.charAt(i + 2);
+    }
+
+    // 1 sau 2 caractere împachetate, cu lungimea deasupra lor ca să nu se confunde între ele
+    private static long shortGram(final String s, final int i, final int length) {
+        long chars = length == 1 ? s.charAt(i) : (long) s.charAt(i) << CHAR_BITS | s.charAt(i + 1);
+        return (long) length << SHORT_LENGTH_SHIFT | chars;
+    }
+
+    /**
+     * Tichetele care conțin toate trigramele lui keyword (keyword.length() >= GRAM).
+     * Este un superset al rezultatului; fiecare candidat trebuie verificat cu contains.
+     */
+    BitSet candidates(final String keyword) {
+        int count = keyword.length() - GRAM + 1;
+        Postings[] lists = new Postings[count];
+        for (int i = 0; i < count; i++) {
+            lists[i] = trigrams.get(trigram(keyword, i));
+            if (lists[i] == null) {
+                return new BitSet();
+            }
+        }
+        // Se pornește de la cea mai scurtă listă, celelalte sunt doar interogate
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        BitSet result = new BitSet();
+        Postings smallest = lists[0];
+        for (int k = 0; k < smallest.size; k++) {
+            int id = smallest.ids[k];
+            boolean inAll = true;
+            for (int i = 1; i < count && inAll; i++) {
+                inAll = lists[i].contains(id);
+            }
+            if (inAll) {
+                result.set(id);
+            }
+        }
+        return result;
+    }
+
+    /** Dacă keyword-ul scurt (1-2 caractere, doar litere și cifre) este indexat exact. */
+    static boolean canAnswerShort(final String keyword) {
+        if (keyword.isEmpty() || keyword.length() >= GRAM) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (!Character.isLetterOrDigit(keyword.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Tichetele care conțin keyword; doar pentru keyword-uri acceptate de canAnswerShort. */
+    BitSet matchingShort(final String keyword) {
+        BitSet result = new BitSet();
+        Postings postings = shortGrams.get(shortGram(keyword, 0, keyword.length()));
+        if (postings != null) {
+            postings.addTo(result);
+        }
+        return result;
+    }
+
+    void clear() {
+        trigrams.clear();
+        shortGrams.clear();
+    }
+}
@@ -0,0 +1,66 @@
+package repository;
+
+import model.enums.ticketPriority;
+import model.enums.ticketStatus;
+import model.enums.ticketType;
+import model.ticket.Ticket;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bitmap-uri de ID-uri de tichete pe valoare de atribut: câte unul pentru fiecare tip, prioritate
+ * de business și status. Tipul și prioritatea nu se mai schimbă după adăugare; statusul este mutat
+ * dintr-un bitmap în altul de Database.updateTicketStatus. Filtrele din search devin astfel
+ * AND-uri între bitmap-uri.
+ */
+final class TicketAttributeIndex {
+    private final Map<ticketType, BitSet> byType = new EnumMap<>(ticketType.class);
+    private final Map<ticketPriority, BitSet> byPriority = new EnumMap<>(ticketPriority.class);
+    private final Map<ticketStatus, BitSet> byStatus = new EnumMap<>(ticketStatus.class);
+
+    void add(final Ticket t) {
+        set(byType, t.getType(), t.getId());
+        set(byPriority, t.getBusinessPriority(), t.getId());
+        set(byStatus, t.getStatus(), t.getId());
+    }
+
+    void statusChanged(final int ticketId, final ticketStatus oldStatus,
+                       final ticketStatus newStatus) {
+        if (oldStatus != null) {
+            byStatus.get(oldStatus).clear(ticketId);
+        }
+        set(byStatus, newStatus, ticketId);
+    }
+
+    private static <K extends Enum<K>> void set(final Map<K, BitSet> index, final K key,
+                                                final int id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new BitSet()).set(id);
+        }
+    }
+
+    // Copii, ca apelantul să le poată combina fără să modifice indexul
+    BitSet withType(final ticketType type) {
+        return copy(byType.get(type));
+    }
+
+    BitSet withPriority(final ticketPriority priority) {
+        return copy(byPriority.get(priority));
+    }
+
+    BitSet withStatus(final ticketStatus status) {
+        return copy(byStatus.get(status));
+    }
+
+    private static BitSet copy(final BitSet set) {
+        return set == null ? new BitSet() : (BitSet) set.clone();
+    }
+
+    void clear() {
+        byType.clear();
+        byPriority.clear();
+        byStatus.clear();
+    }
+}
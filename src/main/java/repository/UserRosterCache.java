@@ -0,0 +1,62 @@
+package repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.user.User;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache pentru fișierele de useri (users.json), partajat de toate rulările din JVM.
+ * Un fișier este parsat din nou doar dacă i s-a schimbat data modificării sau dimensiunea;
+ * fiecare rulare primește copii proprii ale userilor, deci notificările nu trec dintr-o rulare în alta.
+ */
+public final class UserRosterCache {
+    private record Snapshot(long lastModified, long length, List<User> users) {}
+
+    private static final Map<String, Snapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private UserRosterCache() {
+    }
+
+    /** Userii din fișier, ca listă nouă de copii independente. */
+    public static List<User> load(File file, ObjectMapper mapper) throws IOException {
+        String key = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        Snapshot snapshot;
+        try {
+            snapshot = SNAPSHOTS.compute(key, (k, cached) -> {
+                if (cached != null && cached.lastModified() == lastModified && cached.length() == length) {
+                    return cached;
+                }
+                try {
+                    return new Snapshot(lastModified, length,
+                            List.copyOf(mapper.readValue(file, new TypeReference<List<User>>() {})));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        List<User> users = new ArrayList<>(snapshot.users().size());
+        for (User u : snapshot.users()) {
+            users.add(u.copy());
+        }
+        return users;
+    }
+
+    /** Golește cache-ul, de exemplu după ce fișierele au fost înlocuite în același milisecund. */
+    public static void clear() {
+        SNAPSHOTS.clear();
+    }
+}
@@ -0,0 +1,55 @@
+import main.App;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rulează toate input-urile deodată cu {@code --batch} și compară fiecare rezultat cu rularea secvențială
+ * a aceluiași fișier și, pentru input-urile din TestInputs.referenceData(), cu ref/.
+ */
+public class BatchRunTest {
+    @TempDir
+    Path tmp;
+
+    @ParameterizedTest(name = "Batch with {0} threads")
+    @ValueSource(ints = {1, 4, 19})
+    public void batchOutputsMatchSequentialRunsAndReference(final int threads) throws IOException {
+        List<Arguments> cases = TestInputs.data().toList();
+        Path inputDir = Files.createDirectories(tmp.resolve("input"));
+        Path outputDir = Files.createDirectories(tmp.resolve("out"));
+        for (Arguments c : cases) {
+            Path input = Path.of((String) c.get()[1]);
+            Files.copy(input, inputDir.resolve(input.getFileName()));
+        }
+
+        App.main(new String[] {"--batch", inputDir.toString(), outputDir.toString(), String.valueOf(threads)});
+
+        for (int i = 0; i < cases.size(); i++) {
+            Object[] c = cases.get(i).get();
+            File batchOutput = outputDir.resolve(new File((String) c[2]).getName()).toFile();
+            assertThat(batchOutput.isFile()).as("%s", c[0]).isTrue();
+
+            File sequentialOutput = tmp.resolve("sequential.json").toFile();
+            App.run((String) c[1], sequentialOutput.getPath());
+            assertThat(TestInputs.MAPPER.readTree(batchOutput)).as("%s", c[0])
+                    .isEqualTo(TestInputs.MAPPER.readTree(sequentialOutput));
+            if (i < TestInputs.REFERENCE_INPUTS) {
+                assertThatJson(TestInputs.MAPPER.readTree(batchOutput))
+                        .isEqualTo(TestInputs.MAPPER.readTree(new File((String) c[3])));
+            }
+        }
+        try (var outputs = Files.list(outputDir)) {
+            assertThat(outputs.count()).isEqualTo(cases.size());
+        }
+    }
+}
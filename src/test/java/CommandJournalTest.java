@@ -0,0 +1,198 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import main.App;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import pattern.command.CommandJournal;
+import repository.Database;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CommandJournalTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final CommandJournal.TrackedOutput NO_OUTPUT = new CommandJournal.TrackedOutput() {
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void sync() {
+        }
+    };
+
+    @TempDir
+    Path tmp;
+
+    public static Stream<Arguments> interruptions() {
+        List<Arguments> cases = new ArrayList<>();
+        for (String input : List.of("input/in_09_test_status_undo_change.json",
+                "input/in_12_test_notifications.json", "input/in_18_test_complex.json")) {
+            for (double fraction : new double[] {0.3, 0.7}) {
+                for (String tail : List.of("intact", "short", "corrupt", "garbage")) {
+                    cases.add(Arguments.of(input, fraction, tail, false));
+                }
+                // Cu --mmap, textul comenzilor jurnalizate vine tot din pozițiile raportate de parser
+                cases.add(Arguments.of(input, fraction, "short", true));
+            }
+        }
+        return cases.stream();
+    }
+
+    /**
+     * Rularea este întreruptă la o fracțiune din input (input-ul se termină brusc, deci jurnalul rămâne
+     * nesters), coada jurnalului este eventual stricată ca la o oprire în timpul scrierii, apoi rularea
+     * este reluată pe input-ul complet. Output-ul trebuie să fie identic cu al unei rulări neîntrerupte.
+     */
+    @ParameterizedTest(name = "{0} @ {1}, {2} tail, mapped {3}")
+    @MethodSource("interruptions")
+    public void recoveredRunMatchesUninterruptedRun(final String inputPath, final double fraction,
+                                                   final String tail, final boolean mapInput) throws IOException {
+        File expected = tmp.resolve("expected.json").toFile();
+        App.run(inputPath, expected.getPath(), new Database());
+
+        List<JsonNode> commands = readCommands(new File(inputPath));
+        File interruptedInput = tmp.resolve("interrupted.json").toFile();
+        writeInterrupted(interruptedInput, commands.subList(0, (int) (commands.size() * fraction)));
+
+        File output = tmp.resolve("output.json").toFile();
+        File journal = tmp.resolve("journal").toFile();
+        App.RunOptions options = new App.RunOptions(null, null, journal, mapInput);
+        App.run(interruptedInput.getPath(), output.getPath(), new Database(), options);
+        assertThat(journal.length()).isPositive();
+
+        damageTail(journal, tail);
+        App.run(inputPath, output.getPath(), new Database(), options);
+
+        assertThat(Files.readString(output.toPath())).isEqualTo(Files.readString(expected.toPath()));
+        assertThat(journal.length()).isZero();
+    }
+
+    @Test
+    public void replayHoldsBackLastRecordAndStopsAtBrokenTail() throws IOException {
+        File journal = tmp.resolve("journal").toFile();
+        writeJournal(journal, new long[] {0, 2, 5}, new long[] {1, 10, 20});
+        long intactLength = journal.length();
+        Files.write(journal.toPath(), new byte[] {1, 2, 3, 4, 5, 6, 7}, StandardOpenOption.APPEND);
+
+        List<String> replayed = new ArrayList<>();
+        CommandJournal.Recovery recovery = CommandJournal.replay(journal, 100,
+                (seq, payload) -> replayed.add(seq + ":" + new String(payload, StandardCharsets.UTF_8)));
+
+        assertThat(replayed).containsExactly("0:{\"seq\":0}", "2:{\"seq\":2}");
+        assertThat(recovery).isEqualTo(new CommandJournal.Recovery(5, 20));
+        // Ultima înregistrare va fi rescrisă la reexecuție, deci este tăiată împreună cu coada
+        assertThat(journal.length()).isLessThan(intactLength);
+        assertThat(CommandJournal.replay(journal, 100, (seq, payload) -> { }))
+                .isEqualTo(new CommandJournal.Recovery(2, 10));
+    }
+
+    @Test
+    public void replayIgnoresRecordsPastSavedOutput() throws IOException {
+        File journal = tmp.resolve("journal").toFile();
+        writeJournal(journal, new long[] {0, 2, 5}, new long[] {1, 10, 20});
+
+        List<Long> replayed = new ArrayList<>();
+        CommandJournal.Recovery recovery = CommandJournal.replay(journal, 15, (seq, payload) -> replayed.add(seq));
+
+        assertThat(replayed).containsExactly(0L);
+        assertThat(recovery).isEqualTo(new CommandJournal.Recovery(2, 10));
+    }
+
+    @Test
+    public void replayOfCorruptFirstRecordRecoversNothing() throws IOException {
+        File journal = tmp.resolve("journal").toFile();
+        writeJournal(journal, new long[] {0}, new long[] {1});
+        damageTail(journal, "corrupt");
+
+        CommandJournal.Recovery recovery = CommandJournal.replay(journal, 100, (seq, payload) -> { });
+
+        assertThat(recovery.isPresent()).isFalse();
+        assertThat(journal.length()).isZero();
+    }
+
+    /** O înregistrare care aruncă la execuție este sărită; recuperarea continuă cu următoarele. */
+    @Test
+    public void failingRecordIsSkipped() throws IOException {
+        String inputPath = "input/in_08_test_status_change.json";
+        List<JsonNode> commands = readCommands(new File(inputPath));
+
+        File withoutFirst = tmp.resolve("without_first.json").toFile();
+        objectMapper.writeValue(withoutFirst, commands.subList(1, commands.size()));
+        File expected = tmp.resolve("expected.json").toFile();
+        App.run(withoutFirst.getPath(), expected.getPath(), new Database());
+
+        // Prima comandă din jurnal are o dată invalidă, a doua este punctul de reluare
+        File journal = tmp.resolve("journal").toFile();
+        byte[] broken = ("{\"command\":\"assignTicket\",\"username\":\"x\",\"timestamp\":\"not-a-date\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        try (CommandJournal log = new CommandJournal(journal, NO_OUTPUT)) {
+            log.append(0, 1, broken);
+            log.append(1, 1, objectMapper.writeValueAsBytes(commands.get(1)));
+        }
+        File output = tmp.resolve("output.json").toFile();
+        Files.writeString(output.toPath(), "[");
+
+        App.run(inputPath, output.getPath(), new Database(), new App.RunOptions(null, null, journal, false));
+
+        assertThat(Files.readString(output.toPath())).isEqualTo(Files.readString(expected.toPath()));
+    }
+
+    private static List<JsonNode> readCommands(final File input) throws IOException {
+        List<JsonNode> commands = new ArrayList<>();
+        objectMapper.readTree(input).forEach(commands::add);
+        return commands;
+    }
+
+    // Un array JSON neterminat: parser-ul eșuează după ultima comandă, ca la o oprire în mijlocul rulării
+    private static void writeInterrupted(final File target, final List<JsonNode> commands) throws IOException {
+        StringBuilder text = new StringBuilder("[");
+        for (JsonNode command : commands) {
+            text.append(objectMapper.writeValueAsString(command)).append(',');
+        }
+        Files.writeString(target.toPath(), text);
+    }
+
+    private static void writeJournal(final File target, final long[] seqs, final long[] offsets) throws IOException {
+        try (CommandJournal journal = new CommandJournal(target, NO_OUTPUT)) {
+            for (int i = 0; i < seqs.length; i++) {
+                journal.append(seqs[i], offsets[i], ("{\"seq\":" + seqs[i] + "}").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void damageTail(final File journal, final String tail) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(journal, "rw")) {
+            long length = file.length();
+            switch (tail) {
+                case "short" -> file.setLength(length - 3);
+                case "corrupt" -> {
+                    file.seek(length - 6);
+                    int b = file.read();
+                    file.seek(length - 6);
+                    file.write(b ^ 0xFF);
+                }
+                case "garbage" -> {
+                    file.seek(length);
+                    file.write(new byte[] {0, 0, 0, 7, 42, 42, 42, 42, 42});
+                }
+                default -> {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import main.App;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import repository.Database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DatabaseSnapshotTest {
+    private static final int SEGMENTS = 3;
+
+    @TempDir
+    Path tmp;
+
+    @ParameterizedTest(name = "Snapshot {0}")
+    @MethodSource("TestInputs#data")
+    public void segmentedRunMatchesUninterruptedRun(final String testName, final String inputPath,
+                                                   final String outputPath, final String refPath,
+                                                   final int points) throws IOException {
+        File whole = tmp.resolve("whole.json").toFile();
+        App.run(inputPath, whole.getPath(), new Database());
+
+        assertThat(runInSegments(inputPath)).isEqualTo(TestInputs.MAPPER.readTree(whole));
+    }
+
+    @ParameterizedTest(name = "Snapshot {0}")
+    @MethodSource("TestInputs#referenceData")
+    public void segmentedRunMatchesReference(final String testName, final String inputPath,
+                                            final String outputPath, final String refPath,
+                                            final int points) throws IOException {
+        assertThatJson(runInSegments(inputPath))
+                .isEqualTo(TestInputs.MAPPER.readTree(new File(refPath)));
+    }
+
+    /**
+     * Împarte input-ul în SEGMENTS bucăți și rulează fiecare bucată pe un Database nou, refăcut din
+     * checkpoint-ul scris la finalul bucății anterioare. Întoarce rezultatele tuturor bucăților,
+     * în ordine.
+     */
+    private ArrayNode runInSegments(final String inputPath) throws IOException {
+        ArrayNode commands = TestInputs.readCommands(inputPath);
+        File checkpoint = tmp.resolve("checkpoint.bin").toFile();
+        ArrayNode results = TestInputs.MAPPER.createArrayNode();
+
+        for (int s = 0; s < SEGMENTS; s++) {
+            int from = commands.size() * s / SEGMENTS;
+            int to = commands.size() * (s + 1) / SEGMENTS;
+            App.RunOptions options = new App.RunOptions(s == 0 ? null : checkpoint, checkpoint, null, false);
+            for (JsonNode result : TestInputs.run(commands, from, to, tmp, new Database(), options)) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,176 @@
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import model.Milestone;
+import model.enums.Expertise;
+import model.enums.Seniority;
+import model.enums.ticketPriority;
+import model.enums.ticketStatus;
+import model.enums.ticketType;
+import model.ticket.Bug;
+import model.ticket.Ticket;
+import model.user.Developer;
+import model.user.Manager;
+import model.user.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import pattern.strategy.SearchFilters;
+import pattern.strategy.impl.TicketSearchStrategy;
+import repository.Database;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compară Database.findTicketsVisibleToDeveloper, care vine din setul întreținut per developer, cu regula
+ * calculată de la zero: tichetele OPEN al căror milestone îl are pe developer printre assignedDevs.
+ */
+public class DeveloperVisibilityIndexTest {
+    private static final int CHECKS_PER_INPUT = 40;
+
+    @TempDir
+    Path tmp;
+
+    /** După prefixe ale input-urilor: milestone-uri, assign, undoAssign, changeStatus, undo. */
+    @ParameterizedTest(name = "Visibility {0}")
+    @MethodSource("TestInputs#data")
+    public void visibleTicketsMatchRuleAfterEachPrefix(final String testName, final String inputPath,
+                                                      final String outputPath, final String refPath,
+                                                      final int points) throws IOException {
+        ArrayNode commands = TestInputs.readCommands(inputPath);
+        int step = Math.max(1, commands.size() / CHECKS_PER_INPUT);
+        for (int cut = step; cut <= commands.size(); cut += step) {
+            Database db = TestInputs.runPrefix(commands, cut, tmp);
+            assertVisibilityMatchesRule(db, inputPath + " after " + cut + " commands");
+        }
+    }
+
+    @Test
+    public void visibleTicketsFollowMilestonesAssignmentsAndDeveloperChanges() throws IOException {
+        Random random = new Random(5);
+        Database db = new Database();
+        db.setAppStartDate(LocalDate.parse("2025-09-01"));
+        List<User> users = new ArrayList<>();
+        for (String name : new String[] {"dev1", "dev2", "dev3", "dev4"}) {
+            Developer dev = new Developer();
+            dev.setUsername(name);
+            dev.setExpertiseArea(Expertise.BACKEND);
+            dev.setSeniority(Seniority.MID);
+            users.add(dev);
+        }
+        Manager manager = new Manager();
+        manager.setUsername("mgr");
+        users.add(manager);
+        db.setUsers(users);
+
+        for (int i = 0; i < 30; i++) {
+            db.addTicket(ticket(random));
+        }
+        assertVisibilityMatchesRule(db, "before milestones");
+
+        // Milestone-uri care listează și tichete încă neraportate (30..34)
+        db.addMilestone(milestone("m0", List.of(0, 1, 2, 3, 4, 5, 30, 31), List.of("dev1", "dev2")));
+        db.addMilestone(milestone("m1", List.of(6, 7, 8, 9, 10, 32), List.of("dev2", "dev3")));
+        db.addMilestone(milestone("m2", List.of(11, 12, 13), List.of()));
+        assertVisibilityMatchesRule(db, "after milestones");
+        for (int i = 30; i < 36; i++) {
+            db.addTicket(ticket(random));
+        }
+        assertVisibilityMatchesRule(db, "after tickets listed in milestones were reported");
+        assertThat(db.findTicketsVisibleToDeveloper("dev1").get(30)).isTrue();
+        assertThat(db.findTicketsVisibleToDeveloper("dev4").isEmpty()).isTrue();
+
+        // Assign (OPEN -> IN_PROGRESS), unassign (înapoi în OPEN) și alte schimbări de status
+        for (int c = 0; c < 200; c++) {
+            Ticket t = db.getTickets().get(random.nextInt(db.getTickets().size()));
+            if (t.getStatus() == ticketStatus.OPEN && random.nextBoolean()) {
+                t.setAssignedTo("dev" + (1 + random.nextInt(3)));
+                db.updateTicketStatus(t, ticketStatus.IN_PROGRESS);
+            } else if (t.getStatus() == ticketStatus.IN_PROGRESS && random.nextBoolean()) {
+                t.setAssignedTo(null);
+                db.updateTicketStatus(t, ticketStatus.OPEN);
+            } else {
+                db.updateTicketStatus(t, ticketStatus.values()[random.nextInt(ticketStatus.values().length)]);
+            }
+            assertVisibilityMatchesRule(db, "after status change " + c);
+        }
+
+        // Expertiza și senioritatea schimbă doar availableForAssignment, nu setul vizibil
+        TicketSearchStrategy search = new TicketSearchStrategy();
+        SearchFilters available = new SearchFilters("TICKET", null, null, null, null, true, null, null);
+        for (int c = 0; c < 20; c++) {
+            for (User user : users) {
+                if (user instanceof Developer dev) {
+                    BitSet before = db.findTicketsVisibleToDeveloper(dev.getUsername());
+                    dev.setExpertiseArea(Expertise.values()[random.nextInt(Expertise.values().length)]);
+                    dev.setSeniority(Seniority.values()[random.nextInt(Seniority.values().length)]);
+                    assertThat(db.findTicketsVisibleToDeveloper(dev.getUsername())).isEqualTo(before);
+
+                    search.search(available, dev.getUsername(), TestInputs.MAPPER, db, "2025-09-10")
+                            .forEach(node -> assertThat(before.get(node.get("id").asInt())).isTrue());
+                }
+            }
+            assertVisibilityMatchesRule(db, "after expertise/seniority change " + c);
+        }
+
+        // Setul este reconstruit la restaurarea dintr-un checkpoint
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        db.checkpoint(snapshot);
+        Database restored = new Database();
+        restored.restore(new ByteArrayInputStream(snapshot.toByteArray()));
+        assertVisibilityMatchesRule(restored, "after restore");
+        for (User user : users) {
+            assertThat(restored.findTicketsVisibleToDeveloper(user.getUsername()))
+                    .isEqualTo(db.findTicketsVisibleToDeveloper(user.getUsername()));
+        }
+    }
+
+    private static void assertVisibilityMatchesRule(final Database db, final String state) {
+        for (User user : db.getUsers()) {
+            if (!(user instanceof Developer)) {
+                continue;
+            }
+            BitSet expected = new BitSet();
+            for (Ticket t : db.getTickets()) {
+                Milestone m = db.findMilestoneForTicket(t.getId());
+                if (t.getStatus() == ticketStatus.OPEN && m != null && m.getAssignedDevs() != null
+                        && m.getAssignedDevs().contains(user.getUsername())) {
+                    expected.set(t.getId());
+                }
+            }
+            assertThat(db.findTicketsVisibleToDeveloper(user.getUsername()))
+                    .as("%s, developer %s", state, user.getUsername()).isEqualTo(expected);
+        }
+    }
+
+    private static Ticket ticket(final Random random) {
+        Bug bug = new Bug();
+        bug.setType(ticketType.BUG);
+        bug.setTitle("ticket");
+        bug.setBusinessPriority(ticketPriority.values()[random.nextInt(ticketPriority.values().length)]);
+        bug.setReportedBy("rep");
+        bug.setExpertiseArea(Expertise.values()[random.nextInt(Expertise.values().length)].name());
+        bug.setTimestamp("2025-09-01");
+        return bug;
+    }
+
+    private static Milestone milestone(final String name, final List<Integer> tickets, final List<String> devs) {
+        Milestone m = new Milestone();
+        m.setName(name);
+        m.setTickets(new ArrayList<>(tickets));
+        m.setAssignedDevs(new ArrayList<>(devs));
+        m.setDueDate("2025-10-30");
+        m.setCreatedAt("2025-09-01");
+        m.setBlockingFor(new ArrayList<>());
+        return m;
+    }
+}
@@ -0,0 +1,120 @@
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import main.MappedJsonParser;
+import pattern.command.CommandRegistry;
+import pattern.command.request.CommandRequest;
+import repository.Database;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Benchmark for reading a large command file: the default file stream against MappedJsonParser.
+ * Each command is bound to its CommandRequest record, the same way App.run reads it, but is not executed.
+ * Reports wall-clock time and RSS (from /proc/self/status, Linux only). Run each mode in its own JVM,
+ * so the RSS of one does not include the other:
+ *   java -cp ... InputReadBenchmark [file] [sizeMB] stream|mmap
+ * The file is generated (default 2048 MB) if it does not exist. Not picked up by surefire.
+ */
+public final class InputReadBenchmark {
+    private static final String[] SAMPLE_COMMANDS = {
+        "{\"command\":\"reportTicket\",\"username\":\"alice_reporter\",\"timestamp\":\"2025-09-01\","
+                + "\"params\":{\"type\":\"BUG\",\"title\":\"Login fails\",\"businessPriority\":\"HIGH\","
+                + "\"expertiseArea\":\"BACKEND\",\"description\":\"Login returns 500 for valid users\","
+                + "\"reportedBy\":\"alice_reporter\",\"expectedBehavior\":\"ok\",\"actualBehavior\":\"500\","
+                + "\"frequency\":\"ALWAYS\",\"severity\":\"SEVERE\"}}",
+        "{\"command\":\"assignTicket\",\"username\":\"bob_dev\",\"timestamp\":\"2025-09-02\",\"ticketID\":3}",
+        "{\"command\":\"addComment\",\"username\":\"bob_dev\",\"timestamp\":\"2025-09-02\",\"ticketID\":3,"
+                + "\"comment\":\"Reproduced locally, looking into the session handling.\"}",
+        "{\"command\":\"search\",\"username\":\"carol_manager\",\"timestamp\":\"2025-09-03\","
+                + "\"filters\":{\"searchType\":\"TICKET\",\"keywords\":[\"login\",\"session\"]}}",
+        "{\"command\":\"viewTickets\",\"username\":\"carol_manager\",\"timestamp\":\"2025-09-03\"}",
+    };
+
+    private InputReadBenchmark() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        File file = new File(args.length > 0 ? args[0] : "/tmp/commands-2g.json");
+        long sizeMb = args.length > 1 ? Long.parseLong(args[1]) : 2048;
+        String mode = args.length > 2 ? args[2] : "stream";
+
+        if (!file.exists()) {
+            generate(file, sizeMb << 20);
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        CommandRegistry.createDefault(new Database(), result -> { }, mapper); // înregistrează subtipurile
+        ObjectReader reader = mapper.readerFor(CommandRequest.class)
+                .without(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE);
+
+        long start = System.nanoTime();
+        long commands;
+        try (JsonParser parser = "mmap".equals(mode)
+                ? MappedJsonParser.open(mapper.getFactory(), file)
+                : mapper.getFactory().createParser(file)) {
+            commands = readAll(parser, reader);
+        }
+        long elapsedNs = System.nanoTime() - start;
+
+        System.out.printf("mode=%s file=%,d MB commands=%,d time=%.2f s (%.0f MB/s)%n",
+                mode, file.length() >> 20, commands, elapsedNs / 1e9, (file.length() >> 20) / (elapsedNs / 1e9));
+        System.out.println(memoryStatus());
+    }
+
+    private static long readAll(final JsonParser parser, final ObjectReader reader) throws IOException {
+        long commands = 0;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            return 0;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            CommandRequest request = reader.readValue(parser);
+            if (request.command() != null) {
+                commands++;
+            }
+        }
+        return commands;
+    }
+
+    private static void generate(final File file, final long targetBytes) throws IOException {
+        long written = 1;
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(file, StandardCharsets.UTF_8), 1 << 20)) {
+            out.write('[');
+            for (long i = 0; written < targetBytes; i++) {
+                String command = SAMPLE_COMMANDS[(int) (i % SAMPLE_COMMANDS.length)];
+                if (i > 0) {
+                    out.write(",\n");
+                    written += 2;
+                }
+                out.write(command);
+                written += command.length();
+            }
+            out.write(']');
+        }
+    }
+
+    // VmHWM = vârful RSS; RssAnon = heap și alte pagini private; RssFile = pagini din fișiere mapate
+    private static String memoryStatus() throws IOException {
+        File status = new File("/proc/self/status");
+        if (!status.exists()) {
+            return "RSS not available on this platform";
+        }
+        StringBuilder sb = new StringBuilder();
+        List<String> lines = Files.readAllLines(status.toPath());
+        for (String line : lines) {
+            if (line.startsWith("VmHWM") || line.startsWith("VmRSS")
+                    || line.startsWith("RssAnon") || line.startsWith("RssFile")) {
+                sb.append(line.replaceAll("\\s+", " ")).append("  ");
+            }
+        }
+        return sb.toString().trim();
+    }
+}
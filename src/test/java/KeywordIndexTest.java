@@ -0,0 +1,123 @@
+import model.ticket.Bug;
+import model.ticket.Ticket;
+import org.junit.jupiter.api.Test;
+import repository.Database;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compară Database.findTicketsContaining, care folosește indexul de keyword-uri, cu verificarea directă
+ * contains() pe conținutul căutabil al fiecărui tichet.
+ */
+public class KeywordIndexTest {
+    // Litere, cifre, diacritice, majuscule (conținutul este trecut în lowercase) și separatori
+    private static final String ALPHABET = "abcdeăîșțXYZ019 .,-_!\t";
+
+    @Test
+    public void randomKeywordsMatchContains() {
+        Random random = new Random(7);
+        Database db = new Database();
+        for (int i = 0; i < 2000; i++) {
+            db.addTicket(randomTicket(random));
+        }
+
+        for (int q = 0; q < 3000; q++) {
+            String keyword = q % 2 == 0 ? randomString(random, random.nextInt(7)).toLowerCase()
+                    : randomSubstring(random, db);
+            assertMatchesContains(db, keyword);
+        }
+    }
+
+    @Test
+    public void indexFollowsTicketsAddedBetweenQueries() {
+        Random random = new Random(11);
+        Database db = new Database();
+        for (int i = 0; i < 500; i++) {
+            db.addTicket(randomTicket(random));
+            String keyword = i % 2 == 0 ? randomString(random, 1 + random.nextInt(4)).toLowerCase()
+                    : randomSubstring(random, db);
+            assertMatchesContains(db, keyword);
+        }
+    }
+
+    /** Toate keyword-urile de 0, 1 și 2 caractere, care nu au trigrame și trec prin vocabular sau prin scanare. */
+    @Test
+    public void keywordsShorterThanTrigramMatchContains() {
+        Random random = new Random(13);
+        Database db = new Database();
+        for (int i = 0; i < 300; i++) {
+            db.addTicket(randomTicket(random));
+        }
+
+        String alphabet = ALPHABET.toLowerCase();
+        assertMatchesContains(db, "");
+        for (int a = 0; a < alphabet.length(); a++) {
+            assertMatchesContains(db, String.valueOf(alphabet.charAt(a)));
+            for (int b = 0; b < alphabet.length(); b++) {
+                assertMatchesContains(db, "" + alphabet.charAt(a) + alphabet.charAt(b));
+            }
+        }
+    }
+
+    /** Keyword-uri care traversează granița dintre cuvinte sau dintre titlu și descriere. */
+    @Test
+    public void keywordsAcrossWordBoundariesMatchContains() {
+        Database db = new Database();
+        db.addTicket(ticket("Login fails", "Session-handling bug, on retry."));
+        db.addTicket(ticket("Login", "fails"));
+        db.addTicket(ticket("Logi", "n fails"));
+        db.addTicket(ticket("Session handling", null));
+        db.addTicket(ticket("retry.on bug", "login-fails"));
+
+        for (String keyword : new String[] {"n f", "in fa", "login fails", "n-h", "session-h", "g, o", "bug, on r",
+            "y.", ". ", "y.o", "ls s", "fails session", "n fails", "gin-fa", "s ", " s", "-", ", "}) {
+            assertMatchesContains(db, keyword);
+        }
+        assertThat(db.findTicketsContaining("login fails").cardinality()).isEqualTo(2);
+        assertThat(db.findTicketsContaining("n-h").cardinality()).isEqualTo(1);
+    }
+
+    private static void assertMatchesContains(final Database db, final String keyword) {
+        BitSet expected = new BitSet();
+        for (Ticket t : db.getTickets()) {
+            if (t.getSearchableContent().contains(keyword)) {
+                expected.set(t.getId());
+            }
+        }
+        assertThat(db.findTicketsContaining(keyword)).as("keyword '%s'", keyword).isEqualTo(expected);
+    }
+
+    private static Ticket randomTicket(final Random random) {
+        Bug bug = new Bug();
+        bug.setTitle(randomString(random, random.nextInt(20)));
+        if (random.nextBoolean()) {
+            bug.setDescription(randomString(random, random.nextInt(60)));
+        }
+        return bug;
+    }
+
+    private static Ticket ticket(final String title, final String description) {
+        Bug bug = new Bug();
+        bug.setTitle(title);
+        bug.setDescription(description);
+        return bug;
+    }
+
+    // Un subșir al conținutului unui tichet existent, deci un keyword care apare cel puțin o dată
+    private static String randomSubstring(final Random random, final Database db) {
+        String content = db.getTickets().get(random.nextInt(db.getTickets().size())).getSearchableContent();
+        int start = random.nextInt(content.length() + 1);
+        return content.substring(start, Math.min(content.length(), start + random.nextInt(10)));
+    }
+
+    private static String randomString(final Random random, final int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+}
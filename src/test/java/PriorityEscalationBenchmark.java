@@ -0,0 +1,65 @@
+import model.enums.ticketPriority;
+
+/**
+ * Microbenchmark for ticketPriority.escalate against the previous next() loop.
+ * Correctness is covered by PriorityEscalationTest.
+ * Not picked up by surefire; run it manually with the test classpath.
+ */
+public final class PriorityEscalationBenchmark {
+    private static final int MAX_STEPS = 2_000;
+    private static final int ITERATIONS = 200;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private PriorityEscalationBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += loop();
+            sink += closedForm();
+        }
+
+        long start = System.nanoTime();
+        sink += loop();
+        long loopNs = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        sink += closedForm();
+        long closedFormNs = System.nanoTime() - start;
+
+        System.out.printf("steps<=%,d x %d: loop=%.3f ms escalate=%.3f ms speedup=%.0fx (sink=%d)%n",
+                MAX_STEPS, ITERATIONS, loopNs / 1e6, closedFormNs / 1e6,
+                (double) loopNs / Math.max(1, closedFormNs), sink);
+    }
+
+    /** The previous implementation: one next() per step, with next() cloning values() twice. */
+    private static ticketPriority escalateWithLoop(final ticketPriority start, final int steps) {
+        ticketPriority p = start;
+        for (int i = 0; i < steps; i++) {
+            int nextIndex = Math.min(p.ordinal() + 1, ticketPriority.values().length - 1);
+            p = ticketPriority.values()[nextIndex];
+        }
+        return p;
+    }
+
+    private static long loop() {
+        long sink = 0;
+        for (int it = 0; it < ITERATIONS; it++) {
+            for (int steps = 0; steps < MAX_STEPS; steps += 7) {
+                sink += escalateWithLoop(ticketPriority.LOW, steps).ordinal();
+            }
+        }
+        return sink;
+    }
+
+    private static long closedForm() {
+        long sink = 0;
+        for (int it = 0; it < ITERATIONS; it++) {
+            for (int steps = 0; steps < MAX_STEPS; steps += 7) {
+                sink += ticketPriority.LOW.escalate(steps).ordinal();
+            }
+        }
+        return sink;
+    }
+}
@@ -0,0 +1,37 @@
+import model.enums.ticketPriority;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compară ticketPriority.escalate, calculat direct din ordinal, cu vechea implementare care urca
+ * o treaptă pe rând, pentru fiecare prioritate de start și fiecare număr de trepte.
+ */
+public class PriorityEscalationTest {
+    private static final int MAX_STEPS = 2_000;
+
+    @Test
+    public void escalateMatchesStepByStepEscalation() {
+        for (ticketPriority start : ticketPriority.values()) {
+            ticketPriority expected = start;
+            for (int steps = 0; steps <= MAX_STEPS; steps++) {
+                assertThat(start.escalate(steps)).as("%s + %d", start, steps).isEqualTo(expected);
+                int nextIndex = Math.min(expected.ordinal() + 1, ticketPriority.values().length - 1);
+                expected = ticketPriority.values()[nextIndex];
+            }
+        }
+    }
+
+    @Test
+    public void escalateStopsAtCriticalAndIgnoresNonPositiveSteps() {
+        assertThat(ticketPriority.LOW.escalate(1)).isEqualTo(ticketPriority.MEDIUM);
+        assertThat(ticketPriority.LOW.escalate(3)).isEqualTo(ticketPriority.CRITICAL);
+        assertThat(ticketPriority.HIGH.escalate(Integer.MAX_VALUE)).isEqualTo(ticketPriority.CRITICAL);
+        assertThat(ticketPriority.CRITICAL.next()).isEqualTo(ticketPriority.CRITICAL);
+        for (ticketPriority p : ticketPriority.values()) {
+            assertThat(p.escalate(0)).isEqualTo(p);
+            assertThat(p.escalate(-3)).isEqualTo(p);
+            assertThat(p.escalate(Integer.MIN_VALUE)).isEqualTo(p);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import main.App;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+
+/**
+ * Cazuri de reportTicket în care tichetul nu poate fi legat sau nu are obiect "params".
+ * Rezultatele așteptate sunt cele produse de implementarea cu ticketFactory.
+ */
+public class ReportTicketCommandTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void invalidParamsDoNotHideUserValidation() throws IOException {
+        String input = """
+                [
+                  {"command": "reportTicket", "username": "nobody", "timestamp": "2025-10-01",
+                    "params": {"type": "BUG", "title": "Crashes", "businessPriority": "BOGUS",
+                      "reportedBy": "nobody", "expertiseArea": "BACKEND"}}
+                ]
+                """;
+        String expected = """
+                [
+                  {"command": "reportTicket", "username": "nobody", "timestamp": "2025-10-01",
+                    "error": "The user nobody does not exist."}
+                ]
+                """;
+        assertThatJson(run(input)).isEqualTo(objectMapper.readTree(expected));
+    }
+
+    @Test
+    public void ticketFieldsWithoutParamsAreReadFromCommand() throws IOException {
+        String input = """
+                [
+                  {"command": "reportTicket", "username": "theodora_reporter", "timestamp": "2025-10-01",
+                    "type": "BUG", "title": "Flat params", "businessPriority": "HIGH",
+                    "reportedBy": "theodora_reporter", "expertiseArea": "BACKEND", "frequency": "RARE",
+                    "severity": "SEVERE"},
+                  {"command": "reportTicket", "username": "theodora_reporter", "timestamp": "2025-10-01",
+                    "params": {"type": "BUG", "title": "Bad priority", "businessPriority": "BOGUS",
+                      "reportedBy": "theodora_reporter", "expertiseArea": "BACKEND"}},
+                  {"command": "reportTicket", "username": "theodora_reporter", "timestamp": "2025-10-01",
+                    "params": {"title": "No type", "businessPriority": "LOW",
+                      "reportedBy": "theodora_reporter"}},
+                  {"command": "viewTickets", "username": "theodora_reporter", "timestamp": "2025-10-02"}
+                ]
+                """;
+        String expected = """
+                [
+                  {"command": "viewTickets", "username": "theodora_reporter", "timestamp": "2025-10-02",
+                    "tickets": [
+                      {"id": 0, "type": "BUG", "title": "Flat params", "businessPriority": "HIGH",
+                        "status": "OPEN", "reportedBy": "theodora_reporter", "assignedTo": "",
+                        "assignedAt": "", "solvedAt": "", "comments": [], "createdAt": "2025-10-01"}
+                    ]}
+                ]
+                """;
+        assertThatJson(run(input)).isEqualTo(objectMapper.readTree(expected));
+    }
+
+    private String run(final String input) throws IOException {
+        File inputFile = tmp.resolve("in.json").toFile();
+        File outputFile = tmp.resolve("out.json").toFile();
+        Files.writeString(inputFile.toPath(), input);
+        App.run(inputFile.getPath(), outputFile.getPath());
+        return Files.readString(outputFile.toPath());
+    }
+}
@@ -0,0 +1,65 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import main.App;
+import org.junit.jupiter.params.provider.Arguments;
+import repository.Database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Input-urile din TestRunner și rularea unor bucăți din ele, pentru testele care compară starea
+ * sau output-ul după un prefix ori pe segmente cu rularea completă.
+ * Sursele de parametri se folosesc cu {@code @MethodSource("TestInputs#data")}.
+ */
+public final class TestInputs {
+    private TestInputs() {
+    }
+
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // 18 și 19 nu se potrivesc cu ref/ nici în TestRunner; pentru ele contează doar comparația
+    // cu rularea neîntreruptă
+    public static final int REFERENCE_INPUTS = 17;
+
+    public static Stream<Arguments> data() {
+        return TestRunner.data();
+    }
+
+    /** Input-urile al căror output trebuie să fie identic cu ref/. */
+    public static Stream<Arguments> referenceData() {
+        return TestRunner.data().limit(REFERENCE_INPUTS);
+    }
+
+    public static ArrayNode readCommands(final String inputPath) throws IOException {
+        return (ArrayNode) MAPPER.readTree(new File(inputPath));
+    }
+
+    /** Rulează primele cut comenzi pe un Database nou și îl întoarce, cu starea de după ele. */
+    public static Database runPrefix(final ArrayNode commands, final int cut, final Path dir)
+            throws IOException {
+        Database db = new Database();
+        run(commands, 0, cut, dir, db, App.RunOptions.NONE);
+        return db;
+    }
+
+    /**
+     * Scrie comenzile [from, to) într-un fișier din dir, le rulează pe db cu opțiunile date și
+     * întoarce output-ul rulării.
+     */
+    public static JsonNode run(final ArrayNode commands, final int from, final int to, final Path dir,
+                               final Database db, final App.RunOptions options) throws IOException {
+        ArrayNode slice = MAPPER.createArrayNode();
+        for (int i = from; i < to; i++) {
+            slice.add(commands.get(i));
+        }
+        File input = dir.resolve("slice.json").toFile();
+        File output = dir.resolve("slice_out.json").toFile();
+        MAPPER.writeValue(input, slice);
+        App.run(input.getPath(), output.getPath(), db, options);
+        return MAPPER.readTree(output);
+    }
+}
@@ -0,0 +1,76 @@
+import model.ticket.Bug;
+import model.ticket.Ticket;
+import repository.Database;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Regression benchmark for Database.findTicketById.
+ * Compares the indexed lookup against the previous linear scan over the ticket list.
+ * Not picked up by surefire; run it manually with the test classpath.
+ */
+public final class TicketLookupBenchmark {
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final int LOOKUPS = 2_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private TicketLookupBenchmark() {
+    }
+
+    public static void main(final String[] args) {
+        Database db = new Database();
+        Random random = new Random(42);
+
+        for (int size : SIZES) {
+            db.reset();
+            for (int i = 0; i < size; i++) {
+                db.addTicket(new Bug());
+            }
+
+            int[] ids = random.ints(LOOKUPS, 0, size).toArray();
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                linearLookups(db.getTickets(), ids);
+                indexedLookups(db, ids);
+            }
+
+            long linearNs = linearLookups(db.getTickets(), ids);
+            long indexedNs = indexedLookups(db, ids);
+
+            System.out.printf("tickets=%,d lookups=%,d linear=%.3f ms indexed=%.3f ms speedup=%.0fx%n",
+                    size, LOOKUPS, linearNs / 1e6, indexedNs / 1e6, (double) linearNs / Math.max(1, indexedNs));
+        }
+        db.reset();
+    }
+
+    private static long linearLookups(final List<Ticket> tickets, final int[] ids) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int id : ids) {
+            Ticket t = tickets.stream().filter(x -> x.getId() == id).findFirst().orElse(null);
+            if (t != null) {
+                found++;
+            }
+        }
+        check(found, ids.length);
+        return System.nanoTime() - start;
+    }
+
+    private static long indexedLookups(final Database db, final int[] ids) {
+        long start = System.nanoTime();
+        int found = 0;
+        for (int id : ids) {
+            if (db.findTicketById(id) != null) {
+                found++;
+            }
+        }
+        check(found, ids.length);
+        return System.nanoTime() - start;
+    }
+
+    private static void check(final int found, final int expected) {
+        if (found != expected) {
+            throw new IllegalStateException("Expected " + expected + " tickets, found " + found);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import model.Milestone;
+import model.enums.Expertise;
+import model.enums.Seniority;
+import model.enums.ticketPriority;
+import model.enums.ticketStatus;
+import model.enums.ticketType;
+import model.ticket.Bug;
+import model.ticket.Ticket;
+import model.ticket.UIFeedback;
+import model.ticket.featureRequest;
+import model.user.Developer;
+import model.user.Manager;
+import model.user.Reporter;
+import model.user.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import pattern.strategy.SearchFilters;
+import pattern.strategy.impl.TicketSearchStrategy;
+import repository.Database;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compară search-ul pe bitmap-uri cu filtrarea liniară de dinainte, tichet cu tichet, pe stările obținute
+ * rulând prefixe ale input-urilor (deci după schimbări de status, asignări, undo-uri și milestone-uri),
+ * cu combinații aleatoare de filtre, pentru fiecare utilizator.
+ */
+public class TicketSearchStrategyTest {
+    private static final String[] TYPES = {"BUG", "FEATURE_REQUEST", "UI_FEEDBACK", "BOGUS"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL", "BOGUS"};
+    private static final int QUERIES_PER_STATE = 150;
+
+    @TempDir
+    Path tmp;
+
+    @ParameterizedTest(name = "Search {0}")
+    @MethodSource("TestInputs#data")
+    public void bitmapSearchMatchesLinearFilter(final String testName, final String inputPath,
+                                               final String outputPath, final String refPath,
+                                               final int points) throws IOException {
+        ArrayNode commands = TestInputs.readCommands(inputPath);
+        Random random = new Random(inputPath.hashCode());
+        TicketSearchStrategy strategy = new TicketSearchStrategy();
+
+        for (int part = 1; part <= 3; part++) {
+            int cut = commands.size() * part / 3;
+            Database db = TestInputs.runPrefix(commands, cut, tmp);
+            if (db.getTickets().isEmpty()) {
+                continue;
+            }
+            String timestamp = cut > 0 ? commands.get(cut - 1).get("timestamp").asText() : "2025-01-01";
+
+            for (int q = 0; q < QUERIES_PER_STATE; q++) {
+                SearchFilters filters = randomFilters(random, db);
+                for (User user : db.getUsers()) {
+                    assertThat(search(strategy, filters, user.getUsername(), db, timestamp))
+                            .as("%s after %d commands, %s, user %s", inputPath, cut, filters, user.getUsername())
+                            .isEqualTo(linearSearch(filters, user.getUsername(), db, timestamp));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tichete adăugate direct, cu timestamp-uri care uneori merg înapoi (deci rezultatele trebuie sortate),
+     * urmate de milestone-uri și de schimbări aleatoare de status și de asignare.
+     */
+    @Test
+    public void bitmapSearchMatchesLinearFilterWithUnorderedTimestamps() {
+        Random random = new Random(11);
+        TicketSearchStrategy strategy = new TicketSearchStrategy();
+        String[] words = {"login", "crash", "ui", "button", "db", "slow", "page", "error"};
+
+        for (int round = 0; round < 20; round++) {
+            Database db = new Database();
+            db.setAppStartDate(LocalDate.parse("2025-09-01"));
+            List<User> users = new ArrayList<>();
+            for (String name : new String[] {"rep1", "rep2"}) {
+                Reporter reporter = new Reporter();
+                reporter.setUsername(name);
+                users.add(reporter);
+            }
+            for (String name : new String[] {"dev1", "dev2", "dev3"}) {
+                Developer dev = new Developer();
+                dev.setUsername(name);
+                dev.setExpertiseArea(Expertise.values()[random.nextInt(Expertise.values().length)]);
+                dev.setSeniority(Seniority.values()[random.nextInt(Seniority.values().length)]);
+                users.add(dev);
+            }
+            Manager manager = new Manager();
+            manager.setUsername("mgr");
+            users.add(manager);
+            db.setUsers(users);
+
+            int count = 50 + random.nextInt(150);
+            int day = 10;
+            for (int i = 0; i < count; i++) {
+                Ticket t = switch (random.nextInt(3)) {
+                    case 0 -> new Bug();
+                    case 1 -> new featureRequest();
+                    default -> new UIFeedback();
+                };
+                t.setType(t instanceof Bug ? ticketType.BUG
+                        : t instanceof featureRequest ? ticketType.FEATURE_REQUEST : ticketType.UI_FEEDBACK);
+                t.setTitle(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+                t.setBusinessPriority(ticketPriority.values()[random.nextInt(ticketPriority.values().length)]);
+                t.setReportedBy(random.nextBoolean() ? "rep1" : "rep2");
+                t.setExpertiseArea(Expertise.values()[random.nextInt(Expertise.values().length)].name());
+                day = Math.max(1, Math.min(28, day + random.nextInt(5) - 2));
+                t.setTimestamp(String.format("2025-09-%02d", day));
+                db.addTicket(t);
+            }
+            for (int k = 0; k < 3; k++) {
+                Milestone m = new Milestone();
+                m.setName("m" + k);
+                List<Integer> ids = new ArrayList<>();
+                for (int i = k; i < count; i += 3) {
+                    if (random.nextInt(3) > 0) {
+                        ids.add(i);
+                    }
+                }
+                m.setTickets(ids);
+                List<String> devs = new ArrayList<>();
+                for (String dev : new String[] {"dev1", "dev2", "dev3"}) {
+                    if (random.nextBoolean()) {
+                        devs.add(dev);
+                    }
+                }
+                m.setAssignedDevs(devs);
+                m.setDueDate("2025-10-30");
+                m.setCreatedAt("2025-09-01");
+                m.setBlockingFor(new ArrayList<>());
+                db.addMilestone(m);
+            }
+            for (int c = 0; c < count; c++) {
+                Ticket t = db.getTickets().get(random.nextInt(count));
+                if (random.nextBoolean()) {
+                    t.setAssignedTo(random.nextBoolean() ? "dev" + (1 + random.nextInt(3)) : null);
+                }
+                db.updateTicketStatus(t, ticketStatus.values()[random.nextInt(ticketStatus.values().length)]);
+            }
+
+            for (int q = 0; q < QUERIES_PER_STATE; q++) {
+                SearchFilters filters = randomFilters(random, db);
+                String timestamp = "2025-10-0" + (1 + random.nextInt(9));
+                for (User user : users) {
+                    assertThat(search(strategy, filters, user.getUsername(), db, timestamp))
+                            .as("round %d, %s, user %s", round, filters, user.getUsername())
+                            .isEqualTo(linearSearch(filters, user.getUsername(), db, timestamp));
+                }
+            }
+        }
+    }
+
+    // Pentru fiecare rezultat: ID-ul și matchingWords, dacă există
+    private static List<String> search(final TicketSearchStrategy strategy, final SearchFilters filters,
+                                       final String username, final Database db, final String timestamp) {
+        List<String> results = new ArrayList<>();
+        for (ObjectNode node : strategy.search(filters, username, TestInputs.MAPPER, db, timestamp)) {
+            results.add(node.get("id").asInt() + " " + node.path("matchingWords"));
+        }
+        return results;
+    }
+
+    private static SearchFilters randomFilters(final Random random, final Database db) {
+        List<Ticket> tickets = db.getTickets();
+        String type = random.nextInt(3) == 0 ? TYPES[random.nextInt(TYPES.length)] : null;
+        String priority = random.nextInt(3) == 0 ? PRIORITIES[random.nextInt(PRIORITIES.length)] : null;
+        String createdAfter = random.nextInt(3) == 0
+                ? LocalDate.parse(tickets.get(random.nextInt(tickets.size())).getTimestamp())
+                        .plusDays(random.nextInt(3) - 1).toString()
+                : null;
+        List<String> keywords = null;
+        if (random.nextInt(3) == 0) {
+            keywords = new ArrayList<>();
+            for (int k = random.nextInt(3); k >= 0; k--) {
+                String title = tickets.get(random.nextInt(tickets.size())).getTitle();
+                int start = random.nextInt(title.length());
+                keywords.add(title.substring(start, Math.min(title.length(), start + 1 + random.nextInt(6))));
+            }
+        }
+        return new SearchFilters("TICKET", type, priority, createdAfter, keywords, random.nextInt(3) == 0,
+                null, null);
+    }
+
+    // Filtrarea de dinainte de bitmap-uri: fiecare filtru verificat direct pe fiecare tichet, apoi sortare
+    private static List<String> linearSearch(final SearchFilters filters, final String username, final Database db,
+                                             final String timestamp) {
+        User user = db.findUserByUsername(username);
+        List<Ticket> selected = new ArrayList<>();
+        for (Ticket t : db.getTickets()) {
+            if (user instanceof Reporter && !t.getReportedBy().equals(username)) {
+                continue;
+            }
+            if (user instanceof Developer && !visibleToDeveloper(t, username, db)) {
+                continue;
+            }
+            if (filters.type() != null && !t.getType().toString().equals(filters.type())) {
+                continue;
+            }
+            if (filters.businessPriority() != null
+                    && !t.getBusinessPriority().toString().equals(filters.businessPriority())) {
+                continue;
+            }
+            if (filters.createdAfter() != null && t.getTimestamp().compareTo(filters.createdAfter()) <= 0) {
+                continue;
+            }
+            if (filters.keywords() != null && matchingWords(t, filters).isEmpty()) {
+                continue;
+            }
+            if (filters.availableForAssignment() && user instanceof Developer
+                    && !availableForAssignment(t, (Developer) user, db, LocalDate.parse(timestamp))) {
+                continue;
+            }
+            selected.add(t);
+        }
+        selected.sort(Comparator.comparing(Ticket::getTimestamp).thenComparing(Ticket::getId));
+
+        List<String> results = new ArrayList<>();
+        for (Ticket t : selected) {
+            ArrayNode words = TestInputs.MAPPER.createArrayNode();
+            if (filters.keywords() != null) {
+                matchingWords(t, filters).forEach(words::add);
+            }
+            JsonNode matchingWords = filters.keywords() != null ? words : TestInputs.MAPPER.missingNode();
+            results.add(t.getId() + " " + matchingWords);
+        }
+        return results;
+    }
+
+    private static boolean visibleToDeveloper(final Ticket t, final String username, final Database db) {
+        if (t.getStatus() != ticketStatus.OPEN) {
+            return false;
+        }
+        Milestone m = db.findMilestoneForTicket(t.getId());
+        return m != null && m.getAssignedDevs() != null && m.getAssignedDevs().contains(username);
+    }
+
+    private static List<String> matchingWords(final Ticket t, final SearchFilters filters) {
+        List<String> matching = new ArrayList<>();
+        for (String keyword : filters.keywords()) {
+            String lower = keyword.toLowerCase();
+            if (t.getSearchableContent().contains(lower)) {
+                matching.add(lower);
+            }
+        }
+        matching.sort(null);
+        return matching;
+    }
+
+    private static boolean availableForAssignment(final Ticket t, final Developer dev, final Database db,
+                                                  final LocalDate today) {
+        if (t.getStatus() != ticketStatus.OPEN || t.getAssignedTo() != null && !t.getAssignedTo().isEmpty()) {
+            return false;
+        }
+        if (t.getExpertiseArea() == null || !specializations(Expertise.valueOf(t.getExpertiseArea()))
+                .contains(dev.getExpertiseArea())) {
+            return false;
+        }
+        if (!seniorities(t.getType(), db.getCalculatedPriority(t, today)).contains(dev.getSeniority())) {
+            return false;
+        }
+        Milestone m = db.findMilestoneForTicket(t.getId());
+        return m == null || !db.isMilestoneBlocked(m);
+    }
+
+    private static List<Expertise> specializations(final Expertise area) {
+        return switch (area) {
+            case FRONTEND -> List.of(Expertise.FRONTEND, Expertise.FULLSTACK, Expertise.DESIGN);
+            case BACKEND -> List.of(Expertise.BACKEND, Expertise.FULLSTACK);
+            case DEVOPS -> List.of(Expertise.DEVOPS, Expertise.FULLSTACK);
+            case DESIGN -> List.of(Expertise.DESIGN, Expertise.FRONTEND, Expertise.FULLSTACK);
+            case DB -> List.of(Expertise.BACKEND, Expertise.DB, Expertise.FULLSTACK);
+            default -> List.of(Expertise.FULLSTACK);
+        };
+    }
+
+    private static List<Seniority> seniorities(final ticketType type, final ticketPriority priority) {
+        if (priority == ticketPriority.CRITICAL) {
+            return List.of(Seniority.SENIOR);
+        }
+        if (type == ticketType.FEATURE_REQUEST || priority == ticketPriority.HIGH) {
+            return List.of(Seniority.MID, Seniority.SENIOR);
+        }
+        return List.of(Seniority.JUNIOR, Seniority.MID, Seniority.SENIOR);
+    }
+}